@@ -7,7 +7,10 @@ import java.time.Instant;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -340,11 +343,30 @@ public enum Currency {
 
     public static Currency fromCode(String code) {
         Objects.requireNonNull(code, "code is null");
-        for (Currency c : values()) {
-            if (code.equals(c.code())) {
-                return c;
-            }
+        return tryFromCode(code).orElseThrow(() -> unknownCode(code));
+    }
+
+    public static Currency fromCodeIgnoreCase(String code) {
+        Objects.requireNonNull(code, "code is null");
+        final Currency currency = CodeIndex.BY_UPPER_CASE_CODE.get(code.toUpperCase(Locale.ROOT));
+        if (currency == null) {
+            throw unknownCode(code);
         }
-        throw new IllegalArgumentException("No enum constant " + Currency.class.getCanonicalName() + "." + code);
+        return currency;
+    }
+
+    public static Optional<Currency> tryFromCode(String code) {
+        return code == null ? Optional.empty() : Optional.ofNullable(CodeIndex.BY_CODE.get(code));
+    }
+
+    private static IllegalArgumentException unknownCode(String code) {
+        return new IllegalArgumentException("No enum constant " + Currency.class.getCanonicalName() + "." + code);
+    }
+
+    private static class CodeIndex {
+        private static final Map<String, Currency> BY_CODE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(Currency::code, c -> c));
+        private static final Map<String, Currency> BY_UPPER_CASE_CODE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(c -> c.code().toUpperCase(Locale.ROOT), c -> c));
     }
 }
@@ -6,8 +6,9 @@ import lombok.experimental.FieldDefaults;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -36,11 +37,22 @@ public final class CurrencyPair implements Comparable<CurrencyPair>{
     public CurrencyPair(Currency base, Currency quote) {
         this.base = base;
         this.quote = quote;
-        if(this.base.isFiat() && !this.quote.isFiat()) {
+        if (!isValidCombination(base, quote)) {
             throw new FiatCryptoCombinationException(this.base, this.quote);
         }
     }
 
+    /**
+     * Checks without throwing whether a pair of the currencies can be constructed, fiat base with crypto quote is
+     * not a valid combination.
+     * @param base base currency
+     * @param quote quote currency
+     * @return false if the constructor would throw {@link FiatCryptoCombinationException}
+     */
+    public static boolean isValidCombination(Currency base, Currency quote) {
+        return !(base.isFiat() && !quote.isFiat());
+    }
+
     public CurrencyPair reverse() {
         return new CurrencyPair(quote, base);
     }
@@ -61,22 +73,31 @@ public final class CurrencyPair implements Comparable<CurrencyPair>{
         return base.getEndDate().isBefore(quote.getEndDate()) ? base.getEndDate() : quote.getEndDate();
     }
 
+    /**
+     * Returns a mutable copy of all tradeable pairs. Prefer {@link #tradeablePairs()} or
+     * {@link #isTradeable(Currency, Currency)}, which do not allocate.
+     * @return list of tradeable pairs
+     */
     public static List<CurrencyPair> getTradeablePairs() {
-        Set<CurrencyPair> currencyPairs = new HashSet<>();
-        for (Currency base : Currency.values()) {
-            for (Currency quote : Currency.values()) {
-                var baseIsCrypto = !base.isFiat();
-                var quoteIsFiat = quote.isFiat();
-                var quoteIsAllowedCrypto = ALLOWED_CRYPTO_QUOTES.contains(quote);
-                var quoteIsAllowed = quoteIsFiat || quoteIsAllowedCrypto;
-                var isUnsupportedCryptoPair = isUnsupportedCryptoPairs(base, quote);
-                if ((baseIsCrypto && quoteIsAllowed && !isUnsupportedCryptoPair) || (base == quote)) {
-                    currencyPairs.add(new CurrencyPair(base, quote));
-                }
-            }
-        }
-        currencyPairs.addAll(getSupportedFiatPairs());
-        return new ArrayList<>(currencyPairs);
+        return new ArrayList<>(tradeablePairs());
+    }
+
+    /**
+     * Returns all tradeable pairs ordered by base and quote. The list is built once and shared.
+     * @return unmodifiable list of tradeable pairs
+     */
+    public static List<CurrencyPair> tradeablePairs() {
+        return TradeablePairIndex.PAIRS;
+    }
+
+    /**
+     * Checks in constant time whether the base/quote combination is a tradeable pair.
+     * @param base base currency
+     * @param quote quote currency
+     * @return true if the pair is tradeable
+     */
+    public static boolean isTradeable(Currency base, Currency quote) {
+        return TradeablePairIndex.INDEX.get(TradeablePairIndex.indexOf(base, quote));
     }
 
     public static List<CurrencyPair> getSupportedFiatPairs() {
@@ -148,14 +169,59 @@ public final class CurrencyPair implements Comparable<CurrencyPair>{
         }
     }
 
+    private static boolean isTradeableCombination(Currency base, Currency quote) {
+        var baseIsCrypto = !base.isFiat();
+        var quoteIsFiat = quote.isFiat();
+        var quoteIsAllowedCrypto = ALLOWED_CRYPTO_QUOTES.contains(quote);
+        var quoteIsAllowed = quoteIsFiat || quoteIsAllowedCrypto;
+        var isUnsupportedCryptoPair = isUnsupportedCryptoPairs(base, quote);
+        return (baseIsCrypto && quoteIsAllowed && !isUnsupportedCryptoPair) || (base == quote);
+    }
+
+    /**
+     * Lazily initialized (on first use) bit index of tradeable pairs keyed by currency ordinals.
+     */
+    private static final class TradeablePairIndex {
+        private static final Currency[] CURRENCIES = Currency.values();
+        private static final BitSet INDEX = new BitSet(CURRENCIES.length * CURRENCIES.length);
+        private static final List<CurrencyPair> PAIRS;
+
+        static {
+            for (Currency base : CURRENCIES) {
+                for (Currency quote : CURRENCIES) {
+                    if (isTradeableCombination(base, quote)) {
+                        INDEX.set(indexOf(base, quote));
+                    }
+                }
+            }
+            for (CurrencyPair fiatPair : getSupportedFiatPairs()) {
+                INDEX.set(indexOf(fiatPair.getBase(), fiatPair.getQuote()));
+            }
+            List<CurrencyPair> pairs = new ArrayList<>(INDEX.cardinality());
+            for (int i = INDEX.nextSetBit(0); i >= 0; i = INDEX.nextSetBit(i + 1)) {
+                pairs.add(new CurrencyPair(CURRENCIES[i / CURRENCIES.length], CURRENCIES[i % CURRENCIES.length]));
+            }
+            PAIRS = Collections.unmodifiableList(pairs);
+        }
+
+        private TradeablePairIndex() {
+        }
+
+        private static int indexOf(Currency base, Currency quote) {
+            return base.ordinal() * CURRENCIES.length + quote.ordinal();
+        }
+    }
+
     public static class FiatCryptoCombinationException extends RuntimeException {
 
         public static final String INVALID_CURRENCY_PAIR = "Invalid currency pair";
 
         public FiatCryptoCombinationException(Currency base, Currency quote) {
-            super(
-                String.format("%s - fiat (%s) to crypto (%s): ", INVALID_CURRENCY_PAIR, base, quote)
-            );
+            super(createMessage(base, quote));
+        }
+
+        public static String createMessage(Currency base, Currency quote) {
+            return String.format("%s - fiat (%s) to crypto (%s): ", INVALID_CURRENCY_PAIR, base, quote);
         }
     }
 }
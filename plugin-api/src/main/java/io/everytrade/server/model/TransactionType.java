@@ -1,7 +1,9 @@
 package io.everytrade.server.model;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 
 public enum TransactionType {
     UNKNOWN(0),
@@ -15,9 +17,11 @@ public enum TransactionType {
 
     private final int code;
     private static final Map<Integer, TransactionType> BY_CODE = new HashMap<>();
+    private static final Map<String, TransactionType> BY_NAME = new HashMap<>();
 
     static {
         for (TransactionType value : values()) {
+            BY_NAME.put(value.name(), value);
             final TransactionType previousMapping = BY_CODE.put(value.code, value);
             if (previousMapping != null) {
                 throw new IllegalStateException(
@@ -43,6 +47,22 @@ public enum TransactionType {
         return transactionType;
     }
 
+    /**
+     * Case-insensitive lookup by constant name, unlike {@link #valueOf(String)} it does not throw for unknown names.
+     * @param name constant name in any case, may be null
+     * @return transaction type or empty if there is no such constant
+     */
+    public static Optional<TransactionType> tryFromName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        TransactionType transactionType = BY_NAME.get(name);
+        if (transactionType == null) {
+            transactionType = BY_NAME.get(name.toUpperCase(Locale.ROOT));
+        }
+        return Optional.ofNullable(transactionType);
+    }
+
     public boolean isBuyOrSell() {
         return this == BUY || this == SELL;
     }
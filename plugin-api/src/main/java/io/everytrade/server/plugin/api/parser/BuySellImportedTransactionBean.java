@@ -41,7 +41,30 @@ public class BuySellImportedTransactionBean extends ImportedTransactionBean {
         BigDecimal baseQuantity,
         BigDecimal unitPrice,
         String note
+    ) {
+        this(
+            uid,
+            executed,
+            base,
+            quote,
+            action,
+            baseQuantity,
+            unitPrice,
+            note,
+            ImportSession.currentImported()
+        );
+    }
 
+    public BuySellImportedTransactionBean(
+        String uid,
+        Instant executed,
+        Currency base,
+        Currency quote,
+        TransactionType action,
+        BigDecimal baseQuantity,
+        BigDecimal unitPrice,
+        String note,
+        Instant imported
     ) {
         super(
             uid,
@@ -49,6 +72,7 @@ public class BuySellImportedTransactionBean extends ImportedTransactionBean {
             base,
             quote,
             action,
+            imported,
             note
         );
 
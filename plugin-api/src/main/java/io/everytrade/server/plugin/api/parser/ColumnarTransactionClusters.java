@@ -0,0 +1,344 @@
+package io.everytrade.server.plugin.api.parser;
+
+import io.everytrade.server.model.Currency;
+import io.everytrade.server.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compact list of transaction clusters for very large imports. Transactions are stored in parallel primitive
+ * columns: epoch millis of the execution, currency and transaction type ordinals, quantities as unscaled long and
+ * scale, and strings in per-column char arenas. {@link #get(int)} builds a new {@link TransactionCluster} from the
+ * columns on every call, so {@code get(i) != get(i)} and changes made to a returned cluster, e.g. by
+ * {@code setMain} or {@code setRelated}, are not stored back. The list can only be appended to, {@code set},
+ * {@code remove} and {@code sort} throw {@link UnsupportedOperationException}; callers needing a mutable list copy it
+ * into an {@link ArrayList}. Not thread safe.
+ */
+public final class ColumnarTransactionClusters extends AbstractList<TransactionCluster> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte BUY_SELL = 0;
+    private static final byte FEE_REBATE = 1;
+    private static final byte DEPOSIT_WITHDRAWAL = 2;
+    private static final byte OTHER = 3; // other bean types are kept as objects
+    private static final short NULL_ORDINAL = -1;
+    private static final byte NULL_ACTION = -1;
+    private static final long NULL_MILLIS = Long.MIN_VALUE;
+    private static final Currency[] CURRENCIES = Currency.values();
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+
+    // cluster columns
+    private int clusterCount;
+    private int[] clusterEnds = new int[INITIAL_CAPACITY]; // transaction index after the cluster, main goes first
+    private int[] ignoredFeeCounts = new int[INITIAL_CAPACITY];
+    private final StringColumn ignoredFeeReasons = new StringColumn();
+
+    // transaction columns
+    private int transactionCount;
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private long[] executedMillis = new long[INITIAL_CAPACITY];
+    private int[] executedNanos; // nanos of millisecond, allocated for the first value needing them
+    private int[] importedRefs = new int[INITIAL_CAPACITY];
+    private final List<Instant> importedValues = new ArrayList<>(); // shared per import session
+    private short[] bases = new short[INITIAL_CAPACITY];
+    private short[] quotes = new short[INITIAL_CAPACITY];
+    private byte[] actions = new byte[INITIAL_CAPACITY];
+    private short[] feeRebateCurrencies = new short[INITIAL_CAPACITY];
+    private final DecimalColumn quantities = new DecimalColumn(); // base quantity, fee/rebate or volume
+    private final DecimalColumn unitPrices = new DecimalColumn();
+    private final StringColumn uids = new StringColumn();
+    private final StringColumn notes = new StringColumn();
+    private final StringColumn addresses = new StringColumn();
+    private final Map<Integer, ImportedTransactionBean> others = new HashMap<>();
+
+    @Override
+    public boolean add(TransactionCluster cluster) {
+        Objects.requireNonNull(cluster);
+        addTransaction(cluster.getMain());
+        if (cluster.getRelated() != null) {
+            cluster.getRelated().forEach(this::addTransaction);
+        }
+        if (clusterCount == clusterEnds.length) {
+            clusterEnds = Arrays.copyOf(clusterEnds, grow(clusterCount));
+            ignoredFeeCounts = Arrays.copyOf(ignoredFeeCounts, clusterEnds.length);
+        }
+        clusterEnds[clusterCount] = transactionCount;
+        ignoredFeeCounts[clusterCount] = cluster.getIgnoredFeeTransactionCount();
+        ignoredFeeReasons.add(cluster.getIgnoredFeeReason());
+        clusterCount++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public TransactionCluster get(int index) {
+        Objects.checkIndex(index, clusterCount);
+        final int start = index == 0 ? 0 : clusterEnds[index - 1];
+        final int end = clusterEnds[index];
+        final List<ImportedTransactionBean> related = new ArrayList<>(end - start - 1);
+        for (int i = start + 1; i < end; i++) {
+            related.add(transaction(i));
+        }
+        final TransactionCluster cluster = new TransactionCluster(transaction(start), related);
+        final String ignoredFeeReason = ignoredFeeReasons.get(index);
+        if (ignoredFeeCounts[index] != 0 || ignoredFeeReason != null) {
+            cluster.setIgnoredFee(ignoredFeeCounts[index], ignoredFeeReason);
+        }
+        return cluster;
+    }
+
+    @Override
+    public int size() {
+        return clusterCount;
+    }
+
+    public int transactionCount() {
+        return transactionCount;
+    }
+
+    private void addTransaction(ImportedTransactionBean bean) {
+        Objects.requireNonNull(bean);
+        ensureTransactionCapacity();
+        final int row = transactionCount;
+        byte kind = kind(bean);
+        if (kind != OTHER && !addExecuted(row, bean.getExecuted())) {
+            kind = OTHER;
+        }
+        kinds[row] = kind;
+        if (kind == OTHER) {
+            others.put(row, bean);
+            executedMillis[row] = NULL_MILLIS;
+        }
+        importedRefs[row] = importedRef(bean.getImported());
+        bases[row] = ordinal(bean.getBase());
+        quotes[row] = ordinal(bean.getQuote());
+        actions[row] = bean.getAction() == null ? NULL_ACTION : (byte) bean.getAction().ordinal();
+        uids.add(kind == OTHER ? null : bean.getUid());
+        notes.add(kind == OTHER ? null : bean.getNote());
+        BigDecimal quantity = null;
+        BigDecimal unitPrice = null;
+        Currency feeRebateCurrency = null;
+        String address = null;
+        if (kind == BUY_SELL) {
+            quantity = ((BuySellImportedTransactionBean) bean).getBaseQuantity();
+            unitPrice = ((BuySellImportedTransactionBean) bean).getUnitPrice();
+        } else if (kind == FEE_REBATE) {
+            quantity = ((FeeRebateImportedTransactionBean) bean).getFeeRebate();
+            feeRebateCurrency = ((FeeRebateImportedTransactionBean) bean).getFeeRebateCurrency();
+        } else if (kind == DEPOSIT_WITHDRAWAL) {
+            quantity = ((DepositWithdrawalImportedTransaction) bean).getVolume();
+            address = ((DepositWithdrawalImportedTransaction) bean).getAddress();
+        }
+        quantities.add(row, quantity);
+        unitPrices.add(row, unitPrice);
+        feeRebateCurrencies[row] = ordinal(feeRebateCurrency);
+        addresses.add(address);
+        transactionCount++;
+    }
+
+    private ImportedTransactionBean transaction(int row) {
+        final byte kind = kinds[row];
+        if (kind == OTHER) {
+            return others.get(row);
+        }
+        final String uid = uids.get(row);
+        final Instant executed = executed(row);
+        final Currency base = currency(bases[row]);
+        final Currency quote = currency(quotes[row]);
+        final TransactionType action = actions[row] == NULL_ACTION ? null : TRANSACTION_TYPES[actions[row]];
+        final Instant imported = importedValues.get(importedRefs[row]);
+        final String note = notes.get(row);
+        if (kind == BUY_SELL) {
+            return new BuySellImportedTransactionBean(
+                uid, executed, base, quote, action, quantities.get(row), unitPrices.get(row), note, imported
+            );
+        }
+        if (kind == FEE_REBATE) {
+            return new FeeRebateImportedTransactionBean(
+                uid,
+                executed,
+                base,
+                quote,
+                action,
+                quantities.get(row),
+                currency(feeRebateCurrencies[row]),
+                note,
+                imported
+            );
+        }
+        return new DepositWithdrawalImportedTransaction(
+            uid, executed, base, quote, action, quantities.get(row), note, addresses.get(row), imported
+        );
+    }
+
+    private static byte kind(ImportedTransactionBean bean) {
+        final Class<?> type = bean.getClass();
+        if (type == BuySellImportedTransactionBean.class) {
+            return BUY_SELL;
+        }
+        if (type == FeeRebateImportedTransactionBean.class) {
+            return FEE_REBATE;
+        }
+        if (type == DepositWithdrawalImportedTransaction.class) {
+            return DEPOSIT_WITHDRAWAL;
+        }
+        return OTHER;
+    }
+
+    // false when the instant is out of the epoch millis range
+    private boolean addExecuted(int row, Instant executed) {
+        if (executed == null) {
+            executedMillis[row] = NULL_MILLIS;
+            return true;
+        }
+        final long millis;
+        try {
+            millis = executed.toEpochMilli();
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        if (millis == NULL_MILLIS) {
+            return false;
+        }
+        executedMillis[row] = millis;
+        final int nanos = executed.getNano() % 1_000_000;
+        if (nanos != 0 && executedNanos == null) {
+            executedNanos = new int[executedMillis.length];
+        }
+        if (executedNanos != null) {
+            executedNanos[row] = nanos;
+        }
+        return true;
+    }
+
+    private Instant executed(int row) {
+        final long millis = executedMillis[row];
+        if (millis == NULL_MILLIS) {
+            return null;
+        }
+        final Instant executed = Instant.ofEpochMilli(millis);
+        return executedNanos == null ? executed : executed.plusNanos(executedNanos[row]);
+    }
+
+    private int importedRef(Instant imported) {
+        final int last = importedValues.size() - 1;
+        if (last >= 0 && Objects.equals(importedValues.get(last), imported)) {
+            return last;
+        }
+        importedValues.add(imported);
+        return last + 1;
+    }
+
+    private static short ordinal(Currency currency) {
+        return currency == null ? NULL_ORDINAL : (short) currency.ordinal();
+    }
+
+    private static Currency currency(short ordinal) {
+        return ordinal == NULL_ORDINAL ? null : CURRENCIES[ordinal];
+    }
+
+    private void ensureTransactionCapacity() {
+        if (transactionCount < kinds.length) {
+            return;
+        }
+        final int capacity = grow(transactionCount);
+        kinds = Arrays.copyOf(kinds, capacity);
+        executedMillis = Arrays.copyOf(executedMillis, capacity);
+        if (executedNanos != null) {
+            executedNanos = Arrays.copyOf(executedNanos, capacity);
+        }
+        importedRefs = Arrays.copyOf(importedRefs, capacity);
+        bases = Arrays.copyOf(bases, capacity);
+        quotes = Arrays.copyOf(quotes, capacity);
+        actions = Arrays.copyOf(actions, capacity);
+        feeRebateCurrencies = Arrays.copyOf(feeRebateCurrencies, capacity);
+    }
+
+    private static int grow(int size) {
+        if (size >= Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Too many transactions.");
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 8L, Math.max(INITIAL_CAPACITY, size * 2L));
+    }
+
+    // unscaled long and scale, values not fitting are kept as objects
+    private static final class DecimalColumn {
+        private static final byte NULL_SCALE = Byte.MIN_VALUE;
+        private static final byte OVERFLOW_SCALE = Byte.MAX_VALUE;
+
+        private long[] unscaledValues = new long[INITIAL_CAPACITY];
+        private byte[] scales = new byte[INITIAL_CAPACITY];
+        private final Map<Integer, BigDecimal> overflows = new HashMap<>();
+
+        private void add(int row, BigDecimal value) {
+            if (row == scales.length) {
+                unscaledValues = Arrays.copyOf(unscaledValues, grow(row));
+                scales = Arrays.copyOf(scales, unscaledValues.length);
+            }
+            if (value == null) {
+                scales[row] = NULL_SCALE;
+            } else if (value.scale() > NULL_SCALE && value.scale() < OVERFLOW_SCALE
+                && value.unscaledValue().bitLength() < Long.SIZE) {
+                unscaledValues[row] = value.unscaledValue().longValue();
+                scales[row] = (byte) value.scale();
+            } else {
+                scales[row] = OVERFLOW_SCALE;
+                overflows.put(row, value);
+            }
+        }
+
+        private BigDecimal get(int row) {
+            final byte scale = scales[row];
+            if (scale == NULL_SCALE) {
+                return null;
+            }
+            if (scale == OVERFLOW_SCALE) {
+                return overflows.get(row);
+            }
+            return BigDecimal.valueOf(unscaledValues[row], scale);
+        }
+    }
+
+    // strings of a column appended to one char array, value i ends where value i + 1 starts
+    private static final class StringColumn {
+        private char[] chars = new char[INITIAL_CAPACITY * 8];
+        private int length;
+        private int[] ends = new int[INITIAL_CAPACITY];
+        private final BitSet nulls = new BitSet();
+        private int size;
+
+        private void add(String value) {
+            if (size == ends.length) {
+                ends = Arrays.copyOf(ends, grow(size));
+            }
+            if (value == null) {
+                nulls.set(size);
+            } else {
+                final int valueLength = value.length();
+                if (chars.length - length < valueLength) {
+                    chars = Arrays.copyOf(chars, Math.max(grow(chars.length), length + valueLength));
+                }
+                value.getChars(0, valueLength, chars, length);
+                length += valueLength;
+            }
+            ends[size++] = length;
+        }
+
+        private String get(int index) {
+            if (nulls.get(index)) {
+                return null;
+            }
+            final int start = index == 0 ? 0 : ends[index - 1];
+            return new String(chars, start, ends[index] - start);
+        }
+    }
+}
@@ -39,7 +39,21 @@ public class DepositWithdrawalImportedTransaction extends ImportedTransactionBea
         String note,
         String address
     ) {
-        super(uid, executed, base, quote, action, note);
+        this(uid, executed, base, quote, action, volume, note, address, ImportSession.currentImported());
+    }
+
+    public DepositWithdrawalImportedTransaction(
+        String uid,
+        Instant executed,
+        Currency base,
+        Currency quote,
+        TransactionType action,
+        BigDecimal volume,
+        String note,
+        String address,
+        Instant imported
+    ) {
+        super(uid, executed, base, quote, action, imported, note);
         this.volume = volume;
         this.address = address;
     }
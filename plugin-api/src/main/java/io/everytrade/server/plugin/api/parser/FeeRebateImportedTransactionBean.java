@@ -42,9 +42,32 @@ public class FeeRebateImportedTransactionBean extends ImportedTransactionBean {
         BigDecimal feeRebate,
         Currency feeRebateCurrency,
         String note
+    ) {
+        this(
+            uid,
+            executed,
+            base,
+            quote,
+            action,
+            feeRebate,
+            feeRebateCurrency,
+            note,
+            ImportSession.currentImported()
+        );
+    }
 
+    public FeeRebateImportedTransactionBean(
+        String uid,
+        Instant executed,
+        Currency base,
+        Currency quote,
+        TransactionType action,
+        BigDecimal feeRebate,
+        Currency feeRebateCurrency,
+        String note,
+        Instant imported
     ) {
-        super(uid, executed, base, quote, action, note);
+        super(uid, executed, base, quote, action, imported, note);
         Objects.requireNonNull(this.feeRebate = feeRebate);
         Objects.requireNonNull(this.feeRebateCurrency = feeRebateCurrency);
     }
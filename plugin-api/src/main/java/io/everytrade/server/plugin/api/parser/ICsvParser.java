@@ -1,6 +1,8 @@
 package io.everytrade.server.plugin.api.parser;
 
 import java.io.File;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ICsvParser extends AutoCloseable {
     /**
@@ -17,6 +19,68 @@ public interface ICsvParser extends AutoCloseable {
      */
     ParseResult parse(File file, String header);
 
+    /**
+     * Parse the specified file and emit results as they are produced, without collecting them into a
+     * {@link ParseResult}. Parsers able to process the file row by row override this method so memory use does not grow
+     * with the file size. The default implementation delegates to {@link #parse(File, String)}.
+     * @param file CSV file to be parsed.
+     * @param header CVS file's header that has used to identify this parser.
+     * @param transactionClusterConsumer receives every successfully parsed transaction cluster.
+     * @param parsingProblemConsumer receives every parsing problem.
+     */
+    default void parse(
+        File file,
+        String header,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        final ParseResult parseResult = parse(file, header);
+        parseResult.getTransactionClusters().forEach(transactionClusterConsumer);
+        parseResult.getParsingProblems().forEach(parsingProblemConsumer);
+    }
+
+    /**
+     * Streaming parse like {@link #parse(File, String, Consumer, Consumer)} dropping transaction clusters whose main
+     * transaction uid has been seen by the deduplicator already, in this file or in earlier imports sharing it. The
+     * dropped clusters are reported as {@link ParsingProblemType#PARSED_ROW_IGNORED} problems. The default
+     * implementation filters the emitted clusters without knowing their exchange, parsers knowing it override this
+     * method to key the uids by the exchange and to report the source rows.
+     * @param uidDeduplicator uids seen so far, gets the uids of this file.
+     */
+    default void parse(
+        File file,
+        String header,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer,
+        UidDeduplicator uidDeduplicator
+    ) {
+        parse(
+            file,
+            header,
+            uidDeduplicator.filter(null, transactionClusterConsumer, parsingProblemConsumer),
+            parsingProblemConsumer
+        );
+    }
+
+    /**
+     * Parse like {@link #parse(File, String)} reporting the progress to the listener, which can cancel the parse. A
+     * cancelled parse returns the results parsed so far. The default implementation cannot be cancelled once started
+     * and reports the progress when the file is parsed.
+     */
+    default ParseResult parse(File file, String header, ParseListener parseListener) {
+        if (parseListener.isCancelled()) {
+            parseListener.progress(new ParseProgress(0, 0, 0, 0, true, true));
+            return new ParseResult(List.of(), List.of());
+        }
+        final ParseResult parseResult = parse(file, header);
+        final int problemCount = parseResult.getParsingProblems().size();
+        final int clusterCount = parseResult.getTransactionClusters().size();
+        parseListener.progress(new ParseProgress(
+            file.length(), clusterCount + problemCount, clusterCount, problemCount, true, false
+        ));
+        return parseResult;
+    }
+
     /**
      * {@inheritDoc}
      */
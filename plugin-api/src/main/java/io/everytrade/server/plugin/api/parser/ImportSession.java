@@ -0,0 +1,57 @@
+package io.everytrade.server.plugin.api.parser;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Import of one file or one download. While a session is open, every {@link ImportedTransactionBean} constructed on
+ * the same thread without an explicit imported-at instant shares the session's instant instead of reading the clock.
+ * Sessions nest, a session opened inside another one shares the instant of the outer session.
+ */
+public final class ImportSession implements AutoCloseable {
+    private static final ThreadLocal<ImportSession> CURRENT = new ThreadLocal<>();
+
+    private final Instant imported;
+    private final ImportSession outer;
+
+    private ImportSession(Instant imported, ImportSession outer) {
+        this.imported = imported;
+        this.outer = outer;
+    }
+
+    public static ImportSession open() {
+        final ImportSession current = CURRENT.get();
+        return open(current == null ? Instant.now() : current.imported);
+    }
+
+    public static ImportSession open(Instant imported) {
+        Objects.requireNonNull(imported);
+        final ImportSession session = new ImportSession(imported, CURRENT.get());
+        CURRENT.set(session);
+        return session;
+    }
+
+    /**
+     * @return instant of the session open on the current thread, or the current instant outside of a session.
+     */
+    public static Instant currentImported() {
+        final ImportSession current = CURRENT.get();
+        return current == null ? Instant.now() : current.imported;
+    }
+
+    public Instant getImported() {
+        return imported;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() != this) {
+            return; // closed already or not opened on this thread
+        }
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+}
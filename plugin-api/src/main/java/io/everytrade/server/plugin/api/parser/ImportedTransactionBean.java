@@ -21,6 +21,17 @@ public abstract class ImportedTransactionBean {
     Currency base;
     Currency quote;
     TransactionType action;
-    Instant imported = Instant.now();
+    Instant imported;
     String note;
+
+    public ImportedTransactionBean(
+        String uid,
+        Instant executed,
+        Currency base,
+        Currency quote,
+        TransactionType action,
+        String note
+    ) {
+        this(uid, executed, base, quote, action, ImportSession.currentImported(), note);
+    }
 }
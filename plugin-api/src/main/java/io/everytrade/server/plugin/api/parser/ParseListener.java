@@ -0,0 +1,29 @@
+package io.everytrade.server.plugin.api.parser;
+
+import java.time.Duration;
+
+/**
+ * Observes a long-running parse and can cancel it. Called on the parsing thread.
+ */
+public interface ParseListener {
+    Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofSeconds(1);
+
+    /**
+     * Receives the progress at most once per {@link #getProgressInterval()} and once more when the parse ends,
+     * either finished or cancelled.
+     */
+    void progress(ParseProgress progress);
+
+    /**
+     * Checked before the parse starts and between rows. Once it returns true the parse stops reading and returns what
+     * has been parsed so far. Some exchange formats are read whole before the first row is handed over, such parses
+     * cannot be cancelled while the file is being read and report the whole file as consumed from their first row on.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+
+    default Duration getProgressInterval() {
+        return DEFAULT_PROGRESS_INTERVAL;
+    }
+}
@@ -0,0 +1,17 @@
+package io.everytrade.server.plugin.api.parser;
+
+import lombok.Value;
+
+@Value
+public class ParseProgress {
+    /** Bytes of the file read so far, the parser may have read ahead of the rows parsed. */
+    long bytesConsumed;
+    /** Rows parsed to a transaction cluster or a problem so far. */
+    long rowCount;
+    long transactionClusterCount;
+    long parsingProblemCount;
+    /** True in the last progress of a parse. */
+    boolean done;
+    /** True if the parse has been cancelled, its results are partial. */
+    boolean cancelled;
+}
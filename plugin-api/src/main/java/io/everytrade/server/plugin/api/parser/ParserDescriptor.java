@@ -2,18 +2,22 @@ package io.everytrade.server.plugin.api.parser;
 
 import io.everytrade.server.model.SupportedExchange;
 import io.everytrade.server.plugin.csv.CsvHeader;
+import io.everytrade.server.plugin.csv.CsvHeaderIndex;
 
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Objects;
 
 public class ParserDescriptor {
     private final String id;
     private final Map<CsvHeader, SupportedExchange> exchangeHeaderTemplates;
+    private final CsvHeaderIndex<SupportedExchange> headerIndex;
 
     public ParserDescriptor(String id, Map<CsvHeader, SupportedExchange> exchangeHeaderTemplates) {
         Objects.requireNonNull(this.id = id);
         Objects.requireNonNull(exchangeHeaderTemplates);
         this.exchangeHeaderTemplates = Map.copyOf(exchangeHeaderTemplates);
+        this.headerIndex = new CsvHeaderIndex<>(new ArrayList<>(this.exchangeHeaderTemplates.entrySet()));
     }
 
     public String getId() {
@@ -26,20 +30,16 @@ public class ParserDescriptor {
     }
 
     public SupportedExchange getSupportedExchange(String header) {
-        final CsvHeader headerTemplate = findHeaderTemplate(header);
+        final var headerTemplate = headerIndex.find(header);
         if (headerTemplate == null) {
             throw new IllegalStateException(String.format("Header '%s' is not supported.", header));
         }
-        return exchangeHeaderTemplates.get(headerTemplate);
+        return headerTemplate.getValue();
     }
 
     public CsvHeader findHeaderTemplate(String header) {
-        for (CsvHeader headerTemplate : exchangeHeaderTemplates.keySet()) {
-            if (headerTemplate.matching(header)) {
-                return headerTemplate;
-            }
-        }
-        return null;
+        final var headerTemplate = headerIndex.find(header);
+        return headerTemplate == null ? null : headerTemplate.getKey();
     }
 
     @Override
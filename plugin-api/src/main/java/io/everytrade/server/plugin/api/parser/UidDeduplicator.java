@@ -0,0 +1,274 @@
+package io.everytrade.server.plugin.api.parser;
+
+import io.everytrade.server.model.SupportedExchange;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static io.everytrade.server.plugin.api.parser.ParsingProblemType.PARSED_ROW_IGNORED;
+
+/**
+ * Remembers transaction uids per exchange and tells the repeated ones, within one import and across all imports
+ * sharing the instance. A Bloom filter sized for the expected number of uids answers most first occurrences without a
+ * store lookup, its hits are confirmed by an exact {@link UidStore}. The filter takes 1.2 bytes per expected uid for 1%
+ * false positives. More uids than expected do not make the answers wrong, only the filter less effective. By default
+ * the uids are kept in memory in a compact store taking about 2 bytes per uid character plus 20 bytes per uid, i.e.
+ * about 40 bytes for a 10 character uid instead of about 100 bytes in a {@code HashSet<String>}. Callers keeping the
+ * uids elsewhere, e.g. in the database of imported transactions, pass their own store. Only uids identifying a single row may be deduplicated, uids shared by several rows,
+ * e.g. order ids of partial fills, would drop the other rows. Thread safe.
+ */
+public final class UidDeduplicator {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final long DEFAULT_EXPECTED_UIDS = 1_000_000;
+    private static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final UidStore store;
+
+    public UidDeduplicator() {
+        this(DEFAULT_EXPECTED_UIDS);
+    }
+
+    /**
+     * @param expectedUids number of uids the filter is sized for, the uids are kept in memory.
+     */
+    public UidDeduplicator(long expectedUids) {
+        this(expectedUids, DEFAULT_FALSE_POSITIVE_PROBABILITY, new CompactUidStore());
+    }
+
+    /**
+     * @param expectedUids              number of uids the filter is sized for.
+     * @param falsePositiveProbability  probability of the filter sending a new uid to the store at the expected size.
+     * @param store                     exact set of the uids seen, gets every uid the deduplicator sees first.
+     */
+    public UidDeduplicator(long expectedUids, double falsePositiveProbability, UidStore store) {
+        if (expectedUids <= 0) {
+            throw new IllegalArgumentException("Expected uid count must be positive.");
+        }
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1.");
+        }
+        final double ln2 = Math.log(2);
+        final long optimalBits = (long) Math.ceil(-expectedUids * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        final long words = Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+        this.bits = new long[(int) words];
+        this.bitCount = words * 64;
+        this.hashCount = (int) Math.max(1, Math.min(16, Math.round((double) bitCount / expectedUids * ln2)));
+        this.store = Objects.requireNonNull(store);
+    }
+
+    /**
+     * Records the uid.
+     * @param exchange exchange of the transaction, null if not known.
+     * @param uid      transaction uid, null uids are never duplicate.
+     * @return false if the uid has been recorded for the exchange already.
+     */
+    public synchronized boolean add(SupportedExchange exchange, String uid) {
+        if (uid == null) {
+            return true;
+        }
+        if (!setFilterBits(exchange, uid)) {
+            store.add(exchange, uid);
+            return true;
+        }
+        if (store.contains(exchange, uid)) {
+            return false;
+        }
+        store.add(exchange, uid);
+        return true;
+    }
+
+    // false if some bit of the uid was not set yet, i.e. the uid is new
+    private boolean setFilterBits(SupportedExchange exchange, String uid) {
+        final long hash = hash(exchange, uid);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        boolean seen = true;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(h1 + i * (long) h2, bitCount);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                seen = false;
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * @param exchange exchange of the clusters, null if not known.
+     * @return consumer passing the clusters with a new main transaction uid downstream and reporting the others as
+     * {@link ParsingProblemType#PARSED_ROW_IGNORED} problems.
+     */
+    public Consumer<TransactionCluster> filter(
+        SupportedExchange exchange,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        return transactionCluster -> {
+            final String uid = transactionCluster.getMain().getUid();
+            if (add(exchange, uid)) {
+                transactionClusterConsumer.accept(transactionCluster);
+            } else {
+                parsingProblemConsumer.accept(duplicateProblem(transactionCluster.getMain().toString(), uid));
+            }
+        };
+    }
+
+    public static ParsingProblem duplicateProblem(String row, String uid) {
+        return new ParsingProblem(row, String.format("Duplicate transaction uid '%s'.", uid), PARSED_ROW_IGNORED);
+    }
+
+    private static long hash(SupportedExchange exchange, String uid) {
+        long hash = SEED ^ (exchange == null ? -1 : exchange.ordinal());
+        for (int i = 0; i < uid.length(); i++) {
+            hash = (hash ^ uid.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    // murmur3 finalizer spreads the bits of the short uids
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Exact set of exchange and uid pairs. Called by one thread at a time.
+     */
+    public interface UidStore {
+        boolean contains(SupportedExchange exchange, String uid);
+
+        void add(SupportedExchange exchange, String uid);
+    }
+
+    /**
+     * Exchange and uid pairs kept as characters in one shared array, the exchange ordinal heading the uid characters.
+     * An open addressing table of entry indexes finds them by hash, so each uid takes its characters, its end offset
+     * and a table slot and no objects.
+     */
+    static final class CompactUidStore implements UidStore {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private char[] chars = new char[INITIAL_CAPACITY * 8];
+        private int length;
+        private int[] ends = new int[INITIAL_CAPACITY];
+        private int size;
+        // entry index + 1 at the slot of its hash, 0 for an empty slot
+        private int[] table = new int[INITIAL_CAPACITY * 2];
+
+        @Override
+        public boolean contains(SupportedExchange exchange, String uid) {
+            final char exchangeChar = exchangeChar(exchange);
+            final int mask = table.length - 1;
+            for (int slot = hash(exchangeChar, uid) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                if (equals(table[slot] - 1, exchangeChar, uid)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void add(SupportedExchange exchange, String uid) {
+            if (contains(exchange, uid)) {
+                return;
+            }
+            if (size == ends.length) {
+                ends = Arrays.copyOf(ends, grow(size));
+            }
+            final int entryLength = uid.length() + 1;
+            if (chars.length - length < entryLength) {
+                chars = Arrays.copyOf(chars, Math.max(grow(chars.length), length + entryLength));
+            }
+            chars[length] = exchangeChar(exchange);
+            uid.getChars(0, uid.length(), chars, length + 1);
+            length += entryLength;
+            ends[size++] = length;
+            if (size * 4L > table.length * 3L) {
+                rehash(table.length * 2);
+            } else {
+                put(size - 1);
+            }
+        }
+
+        /**
+         * @return bytes taken by the arrays of the store.
+         */
+        long memorySize() {
+            return chars.length * (long) Character.BYTES + ((long) ends.length + table.length) * Integer.BYTES;
+        }
+
+        private void rehash(int capacity) {
+            if (capacity <= 0) {
+                throw new OutOfMemoryError("Too many uids.");
+            }
+            table = new int[capacity];
+            for (int entry = 0; entry < size; entry++) {
+                put(entry);
+            }
+        }
+
+        private void put(int entry) {
+            final int start = start(entry);
+            final int mask = table.length - 1;
+            int slot = hash(chars[start], chars, start + 1, ends[entry]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = entry + 1;
+        }
+
+        private boolean equals(int entry, char exchangeChar, String uid) {
+            final int start = start(entry);
+            if (ends[entry] - start != uid.length() + 1 || chars[start] != exchangeChar) {
+                return false;
+            }
+            for (int i = 0; i < uid.length(); i++) {
+                if (chars[start + 1 + i] != uid.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int start(int entry) {
+            return entry == 0 ? 0 : ends[entry - 1];
+        }
+
+        private static char exchangeChar(SupportedExchange exchange) {
+            return (char) (exchange == null ? 0 : exchange.ordinal() + 1);
+        }
+
+        private static int hash(char exchangeChar, String uid) {
+            long hash = SEED ^ exchangeChar;
+            for (int i = 0; i < uid.length(); i++) {
+                hash = (hash ^ uid.charAt(i)) * 0x100000001B3L;
+            }
+            return (int) mix(hash);
+        }
+
+        private static int hash(char exchangeChar, char[] uidChars, int from, int to) {
+            long hash = SEED ^ exchangeChar;
+            for (int i = from; i < to; i++) {
+                hash = (hash ^ uidChars[i]) * 0x100000001B3L;
+            }
+            return (int) mix(hash);
+        }
+
+        private static int grow(int size) {
+            if (size >= Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError("Too many uids.");
+            }
+            return (int) Math.min(Integer.MAX_VALUE - 8L, Math.max(INITIAL_CAPACITY, size * 2L));
+        }
+    }
+}
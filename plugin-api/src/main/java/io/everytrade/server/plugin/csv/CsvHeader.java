@@ -1,14 +1,19 @@
 package io.everytrade.server.plugin.csv;
 
 
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
-public class CsvHeader {
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(onlyExplicitlyIncluded = true)
+public final class CsvHeader {
 
     private static final String DEFAULT_SEPARATOR = ";";
     private static final String REGEX_PREFIX = "^";
@@ -16,72 +21,196 @@ public class CsvHeader {
     private static final String QUOTE = "\"";
     private static final String MAGIC_MARK = "\uFEFF";
 
-    private List<String> headerValues;
-    private String separator;
-    private boolean ordered = true; // if order of header values matters or not
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private final List<String> headerValues;
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private final String separator;
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private final boolean ordered; // if order of header values matters or not
+
+    // precomputed per template, indexed as headerValues
+    private final Pattern[][] templatePatterns; // null for literal templates
+    private final String[] normalizedTokens; // null for regex and BOM/quote decorated templates
+    private final Pattern separatorPattern;
 
     public CsvHeader(List<String> headerValues, String separator) {
-        this.headerValues = headerValues;
-        this.separator = separator;
+        this(headerValues, separator, true);
     }
 
     public CsvHeader(List<String> headerValues, String separator, boolean ordered) {
-        this.headerValues = headerValues;
-        this.separator = separator;
+        this.headerValues = List.copyOf(headerValues);
+        this.separator = Objects.requireNonNull(separator);
         this.ordered = ordered;
+        this.templatePatterns = new Pattern[this.headerValues.size()][];
+        this.normalizedTokens = new String[this.headerValues.size()];
+        for (int i = 0; i < this.headerValues.size(); i++) {
+            String template = this.headerValues.get(i);
+            if (isHeaderTemplateRegex(template)) {
+                templatePatterns[i] = compileTemplate(template);
+            } else if (isPlainTemplate(template)) {
+                normalizedTokens[i] = CsvHeaderTokens.fold(template, 0, template.length());
+            }
+        }
+        this.separatorPattern = Pattern.compile(separator);
     }
 
     public boolean matching(String headerLine) {
-        if (headerLine == null || headerLine.isEmpty()) {
+        return matching((CharSequence) headerLine);
+    }
+
+    public boolean matching(CharSequence headerLine) {
+        if (headerLine == null || headerLine.length() == 0) {
             return false;
         }
-        List<String> vals = Arrays.asList(headerLine.split(separator));
+        return matchingTokens(tokenize(headerLine));
+    }
 
+    CsvHeaderTokens tokenize(CharSequence headerLine) {
+        return CsvHeaderTokens.tokenize(headerLine, separatorPattern);
+    }
+
+    boolean matchingTokens(CsvHeaderTokens tokens) {
         if (ordered) {
-            return compareOrdered(vals);
+            return compareOrdered(tokens);
         } else {
-            return vals.stream().allMatch(val -> headerValues.stream().anyMatch(template -> compareValues(template, val)));
+            for (int column = 0; column < tokens.size(); column++) {
+                if (!matchesAnyTemplate(tokens, column)) {
+                    return false;
+                }
+            }
+            return true;
         }
     }
 
-    private boolean compareOrdered(List<String> currentHeaderValues) {
-        Iterator<String> currentIt = currentHeaderValues.iterator();
-        Iterator<String> templateIt = headerValues.iterator();
+    /**
+     * @return number of columns of the template, a header line matching an ordered template has at least as many
+     */
+    public int getColumnCount() {
+        return headerValues.size();
+    }
 
-        while (templateIt.hasNext()) {
-            String template = templateIt.next();
-            String current = null;
-            while (currentIt.hasNext()) {
-                current = currentIt.next();
-                if (compareValues(template, current)) {
+    List<String> getHeaderValues() {
+        return headerValues;
+    }
+
+    String getSeparator() {
+        return separator;
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Normalized token of the first literal template value, see {@link CsvHeaderTokens#normalized(int)}. Every
+     * header matching an ordered template contains a column with this token; null when there is no such token.
+     */
+    String indexToken() {
+        if (!ordered) {
+            return null; // every template column is optional
+        }
+        for (int i = 0; i < headerValues.size(); i++) {
+            if (templatePatterns[i] == null) {
+                return normalizedTokens[i];
+            }
+        }
+        return null;
+    }
+
+    private boolean matchesAnyTemplate(CsvHeaderTokens tokens, int column) {
+        for (int template = 0; template < headerValues.size(); template++) {
+            if (compareValues(template, tokens, column)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean compareOrdered(CsvHeaderTokens tokens) {
+        int column = 0;
+        for (int template = 0; template < headerValues.size(); template++) {
+            boolean found = false;
+            while (column < tokens.size()) {
+                if (compareValues(template, tokens, column++)) {
+                    found = true;
                     break; // template found move to next
                 }
             }
-            if (template != null && !compareValues(template, current)) {
+            if (!found) {
                 return false; // not found matching in given order
             }
         }
         return true; // all headers found in template
     }
 
-    private boolean compareValues(String template, String value) {
-        var templateValueCombinations = Stream.of(
+    private boolean compareValues(int template, CsvHeaderTokens tokens, int column) {
+        String line = tokens.line();
+        int start = tokens.start(column);
+        int end = tokens.end(column);
+        Pattern[] patterns = templatePatterns[template];
+        if (patterns != null) {
+            for (Pattern pattern : patterns) {
+                Matcher matcher = pattern.matcher(line).region(start, end);
+                if (matcher.find()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        String value = headerValues.get(template);
+        if (normalizedTokens[template] != null) {
+            // plain template, strip the allowed decorations from the column and compare once
+            if (line.startsWith(MAGIC_MARK, start)) {
+                start++;
+            }
+            if (end - start >= 2 && line.startsWith(QUOTE, start) && line.startsWith(QUOTE, end - 1)) {
+                start++;
+                end--;
+            }
+            return end - start == value.length() && line.regionMatches(true, start, value, 0, value.length());
+        }
+        return regionEqualsIgnoreCase(line, start, end, "", value, "")
+            || regionEqualsIgnoreCase(line, start, end, QUOTE, value, QUOTE)
+            || regionEqualsIgnoreCase(line, start, end, MAGIC_MARK, value, "")
+            || regionEqualsIgnoreCase(line, start, end, MAGIC_MARK + QUOTE, value, QUOTE);
+    }
+
+    private static boolean regionEqualsIgnoreCase(
+        String line,
+        int start,
+        int end,
+        String prefix,
+        String value,
+        String postfix
+    ) {
+        return end - start == prefix.length() + value.length() + postfix.length()
+            && line.regionMatches(true, start, prefix, 0, prefix.length())
+            && line.regionMatches(true, start + prefix.length(), value, 0, value.length())
+            && line.regionMatches(true, end - postfix.length(), postfix, 0, postfix.length());
+    }
+
+    private static Pattern[] compileTemplate(String template) {
+        return Stream.of(
             template,
             QUOTE + template + QUOTE,
             MAGIC_MARK + template,
             MAGIC_MARK + QUOTE + template + QUOTE
-        );
-
-        if (isHeaderTemplateRegex(template)) {
-            return templateValueCombinations
-                // move regex prefix to beginning and postfix to end of the string
-                .map(t -> t.replace(REGEX_PREFIX, "").replace(REGEX_POSTFIX, ""))
-                .map(t -> REGEX_PREFIX + t + REGEX_POSTFIX)
-                .map(Pattern::compile)
-                .anyMatch(pattern -> pattern.matcher(value).find());
-        } else {
-            return templateValueCombinations.anyMatch(it -> it.equalsIgnoreCase(value));
-        }
+        )
+            // move regex prefix to beginning and postfix to end of the string
+            .map(t -> t.replace(REGEX_PREFIX, "").replace(REGEX_POSTFIX, ""))
+            .map(t -> REGEX_PREFIX + t + REGEX_POSTFIX)
+            .map(Pattern::compile)
+            .toArray(Pattern[]::new);
+    }
+
+    private static boolean isPlainTemplate(String template) {
+        return !template.isEmpty()
+            && !template.startsWith(MAGIC_MARK)
+            && !template.startsWith(QUOTE)
+            && !template.endsWith(QUOTE);
     }
 
     private static boolean isHeaderTemplateRegex(String headerTemplate) {
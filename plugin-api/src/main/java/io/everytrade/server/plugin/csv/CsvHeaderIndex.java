@@ -0,0 +1,89 @@
+package io.everytrade.server.plugin.csv;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Header templates indexed by their first literal column, so a header line is split once per separator and only
+ * the templates containing one of its columns are matched. Lookup returns the first matching entry in registration
+ * order, the same result as trying the templates one by one.
+ */
+public class CsvHeaderIndex<T> {
+
+    private final List<Map.Entry<CsvHeader, T>> entries;
+    private final int[] entryGroups;
+    private final List<SeparatorGroup> groups;
+
+    public CsvHeaderIndex(List<Map.Entry<CsvHeader, T>> entries) {
+        this.entries = List.copyOf(entries);
+        this.entryGroups = new int[this.entries.size()];
+        Map<String, SeparatorGroup> groupsBySeparator = new LinkedHashMap<>();
+        for (int i = 0; i < this.entries.size(); i++) {
+            CsvHeader header = this.entries.get(i).getKey();
+            SeparatorGroup group = groupsBySeparator.computeIfAbsent(
+                header.getSeparator(),
+                separator -> new SeparatorGroup(separator, groupsBySeparator.size())
+            );
+            group.add(i, header);
+            entryGroups[i] = group.index;
+        }
+        this.groups = List.copyOf(groupsBySeparator.values());
+    }
+
+    public Map.Entry<CsvHeader, T> find(CharSequence headerLine) {
+        if (headerLine == null || headerLine.length() == 0) {
+            return null;
+        }
+        BitSet candidates = new BitSet(entries.size());
+        CsvHeaderTokens[] tokens = new CsvHeaderTokens[groups.size()];
+        for (SeparatorGroup group : groups) {
+            tokens[group.index] = CsvHeaderTokens.tokenize(headerLine, group.separatorPattern);
+            group.collectCandidates(tokens[group.index], candidates);
+        }
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            Map.Entry<CsvHeader, T> entry = entries.get(i);
+            if (entry.getKey().matchingTokens(tokens[entryGroups[i]])) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static class SeparatorGroup {
+        private final Pattern separatorPattern;
+        private final int index;
+        private final Map<String, BitSet> entriesByKey = new HashMap<>();
+        private final BitSet unkeyedEntries = new BitSet();
+
+        private SeparatorGroup(String separator, int index) {
+            this.separatorPattern = Pattern.compile(separator);
+            this.index = index;
+        }
+
+        private void add(int entryIndex, CsvHeader header) {
+            String key = header.indexToken();
+            if (key == null) {
+                unkeyedEntries.set(entryIndex);
+            } else {
+                entriesByKey.computeIfAbsent(key, k -> new BitSet()).set(entryIndex);
+            }
+        }
+
+        private void collectCandidates(CsvHeaderTokens tokens, BitSet candidates) {
+            candidates.or(unkeyedEntries);
+            if (entriesByKey.isEmpty()) {
+                return;
+            }
+            for (int column = 0; column < tokens.size(); column++) {
+                BitSet keyed = entriesByKey.get(tokens.normalized(column));
+                if (keyed != null) {
+                    candidates.or(keyed);
+                }
+            }
+        }
+    }
+}
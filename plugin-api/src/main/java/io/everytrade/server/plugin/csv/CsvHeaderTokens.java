@@ -0,0 +1,120 @@
+package io.everytrade.server.plugin.csv;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Column boundaries of a header line, split the same way as {@link String#split(String)} but without copying the
+ * columns out of the line. Single character separators are scanned directly, other separators fall back to the
+ * compiled pattern.
+ */
+final class CsvHeaderTokens {
+
+    private static final String REGEX_META_CHARS = ".$|()[{^?*+\\";
+    private static final char QUOTE = '"';
+    private static final char MAGIC_MARK = '\uFEFF';
+
+    private final String line;
+    private final int[] bounds;
+    private final int size;
+
+    private CsvHeaderTokens(String line, int[] bounds, int size) {
+        this.line = line;
+        this.bounds = bounds;
+        this.size = size;
+    }
+
+    static CsvHeaderTokens tokenize(CharSequence headerLine, Pattern separator) {
+        String line = headerLine.toString();
+        char literal = literalSeparator(separator.pattern());
+        int[] bounds = new int[16];
+        int size = 0;
+        int index = 0;
+        if (literal != 0) {
+            for (int next = line.indexOf(literal); next >= 0; next = line.indexOf(literal, index)) {
+                bounds = add(bounds, size++, index, next);
+                index = next + 1;
+            }
+        } else {
+            Matcher matcher = separator.matcher(line);
+            while (matcher.find()) {
+                if (index == 0 && matcher.start() == 0 && matcher.end() == 0) {
+                    continue; // no empty leading column for a zero-width match at the beginning
+                }
+                bounds = add(bounds, size++, index, matcher.start());
+                index = matcher.end();
+            }
+        }
+        if (index == 0) {
+            return new CsvHeaderTokens(line, new int[]{0, line.length()}, 1);
+        }
+        bounds = add(bounds, size++, index, line.length());
+        while (size > 0 && bounds[2 * size - 2] == bounds[2 * size - 1]) {
+            size--; // trailing empty columns are dropped
+        }
+        return new CsvHeaderTokens(line, bounds, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    String line() {
+        return line;
+    }
+
+    int start(int column) {
+        return bounds[2 * column];
+    }
+
+    int end(int column) {
+        return bounds[2 * column + 1];
+    }
+
+    /**
+     * Column without its leading BOM and surrounding quotes, case folded. Two columns normalize to the same value
+     * exactly when they are equal, ignoring case, to some plain template value with these decorations.
+     */
+    String normalized(int column) {
+        int start = start(column);
+        int end = end(column);
+        if (start < end && line.charAt(start) == MAGIC_MARK) {
+            start++;
+        }
+        if (end - start >= 2 && line.charAt(start) == QUOTE && line.charAt(end - 1) == QUOTE) {
+            start++;
+            end--;
+        }
+        return fold(line, start, end);
+    }
+
+    // Folds case the same way as String.equalsIgnoreCase compares characters.
+    static String fold(String value, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(start + i)));
+        }
+        return new String(chars);
+    }
+
+    private static int[] add(int[] bounds, int column, int start, int end) {
+        if (2 * column + 1 >= bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        bounds[2 * column] = start;
+        bounds[2 * column + 1] = end;
+        return bounds;
+    }
+
+    // Same fast path condition as String.split, 0 when the separator has to be matched as a regex.
+    private static char literalSeparator(String separator) {
+        if (separator.length() == 1 && REGEX_META_CHARS.indexOf(separator.charAt(0)) < 0) {
+            return separator.charAt(0);
+        }
+        if (separator.length() == 2 && separator.charAt(0) == '\\' && !Character.isLetterOrDigit(separator.charAt(1))) {
+            return separator.charAt(1);
+        }
+        return 0;
+    }
+}
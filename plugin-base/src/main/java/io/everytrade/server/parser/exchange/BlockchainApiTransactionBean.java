@@ -62,8 +62,8 @@ public class BlockchainApiTransactionBean {
         this.id = transaction.getTxHash();
         this.timestamp =  Instant.ofEpochMilli(transaction.getTimestamp());
         this.type = resolveTxType(transaction);
-        this.base = Currency.fromCode(base.toUpperCase());
-        this.quote = Currency.fromCode(quote.toUpperCase());
+        this.base = Currency.fromCodeIgnoreCase(base);
+        this.quote = Currency.fromCodeIgnoreCase(quote);
         this.price = null; // it will be automatically added from the market in everytrade.
         this.feeCurrency = this.base;
         this.originalAmount = Client.satoshisToBigDecimal(transaction.getAmount()).abs();
@@ -72,10 +72,8 @@ public class BlockchainApiTransactionBean {
     }
 
     public TransactionCluster toTransactionCluster() {
-        try {
-            new CurrencyPair(base, quote);
-        } catch (CurrencyPair.FiatCryptoCombinationException e) {
-            throw new IllegalArgumentException(e.getMessage());
+        if (!CurrencyPair.isValidCombination(base, quote)) {
+            throw new IllegalArgumentException(CurrencyPair.FiatCryptoCombinationException.createMessage(base, quote));
         }
 
         if (ParserUtils.equalsToZero(originalAmount)) {
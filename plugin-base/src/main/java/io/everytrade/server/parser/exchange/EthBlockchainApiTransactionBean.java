@@ -69,7 +69,7 @@ public class EthBlockchainApiTransactionBean {
         if (transactionDto.getIsError() != 0) {
             throw new DataValidationException(String.format("Transaction with error:%d.", transactionDto.getIsError()));
         }
-        this.quote = Currency.fromCode(quote.toUpperCase());
+        this.quote = Currency.fromCodeIgnoreCase(quote);
         this.unitPrice = null; // it will be automatically added from the market in everytrade.
         baseAmount = transactionDto.getValue().divide(DIVISOR, DECIMAL_DIGIT, RoundingMode.HALF_UP);
         feeAmount = transactionDto.getGasPrice()
@@ -80,10 +80,8 @@ public class EthBlockchainApiTransactionBean {
     }
 
     public TransactionCluster toTransactionCluster() {
-        try {
-            new CurrencyPair(BASE, quote);
-        } catch (CurrencyPair.FiatCryptoCombinationException e) {
-            throw new IllegalArgumentException(e.getMessage());
+        if (!CurrencyPair.isValidCombination(BASE, quote)) {
+            throw new IllegalArgumentException(CurrencyPair.FiatCryptoCombinationException.createMessage(BASE, quote));
         }
 
         if (equalsToZero(baseAmount)) {
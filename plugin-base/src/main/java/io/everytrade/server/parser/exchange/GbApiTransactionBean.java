@@ -65,10 +65,10 @@ public class GbApiTransactionBean {
     public TransactionCluster toTransactionCluster() {
         final Currency baseCurrency = parseGbCurrency(base);
         final Currency quoteCurrency = parseGbCurrency(quote);
-        try {
-            new CurrencyPair(baseCurrency, quoteCurrency);
-        } catch (CurrencyPair.FiatCryptoCombinationException e) {
-            throw new DataValidationException(e.getMessage());
+        if (!CurrencyPair.isValidCombination(baseCurrency, quoteCurrency)) {
+            throw new DataValidationException(
+                CurrencyPair.FiatCryptoCombinationException.createMessage(baseCurrency, quoteCurrency)
+            );
         }
         final boolean isIgnoredFee = !(base.equals(expenseCurrency) || quote.equals(expenseCurrency));
         List<ImportedTransactionBean> related;
@@ -35,7 +35,7 @@ public class OkexApiTransactionBean {
 
     static {
         FAST_CURRENCY_PAIRS = new HashMap<>();
-        for (CurrencyPair currencyPair : CurrencyPair.getTradeablePairs()) {
+        for (CurrencyPair currencyPair : CurrencyPair.tradeablePairs()) {
             FAST_CURRENCY_PAIRS.put(
                 String.format("%s-%s", currencyPair.getBase().code(), currencyPair.getQuote().code()), currencyPair
             );
@@ -59,10 +59,10 @@ public class OkexApiTransactionBean {
     }
 
     public TransactionCluster toTransactionCluster() {
-        try {
-            new CurrencyPair(instrumentIdBase, instrumentIdQuote);
-        } catch (CurrencyPair.FiatCryptoCombinationException e) {
-            throw new DataValidationException(e.getMessage());
+        if (!CurrencyPair.isValidCombination(instrumentIdBase, instrumentIdQuote)) {
+            throw new DataValidationException(
+                CurrencyPair.FiatCryptoCombinationException.createMessage(instrumentIdBase, instrumentIdQuote)
+            );
         }
         final BigDecimal convertedFee;
         if (TransactionType.BUY.equals(side)) {
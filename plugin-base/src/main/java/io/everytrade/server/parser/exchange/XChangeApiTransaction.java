@@ -77,10 +77,10 @@ public class XChangeApiTransaction {
 
     public TransactionCluster toTransactionCluster() {
         if (type.isBuyOrSell()) {
-            try {
-                new CurrencyPair(base, quote);
-            } catch (CurrencyPair.FiatCryptoCombinationException e) {
-                throw new DataValidationException(e.getMessage());
+            if (!CurrencyPair.isValidCombination(base, quote)) {
+                throw new DataValidationException(
+                    CurrencyPair.FiatCryptoCombinationException.createMessage(base, quote)
+                );
             }
         }
 
@@ -171,12 +171,10 @@ public class XChangeApiTransaction {
     }
 
     private static Currency convert(org.knowm.xchange.currency.Currency currency) {
-        try {
-            return Currency.fromCode(currency.getCurrencyCode());
-        } catch (IllegalArgumentException e) {
+        return Currency.tryFromCode(currency.getCurrencyCode()).orElseGet(() -> {
             final org.knowm.xchange.currency.Currency currencyConverted =
                 org.knowm.xchange.currency.Currency.getInstance(currency.getCurrencyCode()).getCommonlyUsedCurrency();
             return Currency.fromCode(currencyConverted.getCurrencyCode());
-        }
+        });
     }
 }
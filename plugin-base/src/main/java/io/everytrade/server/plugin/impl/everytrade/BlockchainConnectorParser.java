@@ -2,6 +2,7 @@ package io.everytrade.server.plugin.impl.everytrade;
 
 import com.generalbytes.bitrafael.tools.transaction.Transaction;
 import io.everytrade.server.parser.exchange.BlockchainApiTransactionBean;
+import io.everytrade.server.plugin.api.parser.ImportSession;
 import io.everytrade.server.plugin.api.parser.ParseResult;
 import io.everytrade.server.plugin.api.parser.ParsingProblem;
 import io.everytrade.server.plugin.api.parser.ParsingProblemType;
@@ -30,24 +31,28 @@ public class BlockchainConnectorParser {
         final List<TransactionCluster> transactionClusters = new ArrayList<>();
         final List<ParsingProblem> parsingProblems = new ArrayList<>();
 
-        for (Transaction transaction : transactions) {
-            try {
-                BlockchainApiTransactionBean blockchainApiTransactionBean = new BlockchainApiTransactionBean(
-                    transaction,
-                    base,
-                    quote,
-                    importDepositsAsBuys,
-                    importWithdrawalsAsSells,
-                    importFeesFromDeposits,
-                    importFeesFromWithdrawals
-                );
-                transactionClusters.add(blockchainApiTransactionBean.toTransactionCluster());
-            } catch (Exception e) {
-                LOG.error("Error converting to BlockchainApiTransactionBean: {}", e.getMessage());
-                LOG.debug("Exception by converting to BlockchainApiTransactionBean.", e);
-                parsingProblems.add(
-                    new ParsingProblem(transaction.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED)
-                );
+        try (ImportSession ignored = ImportSession.open()) {
+            for (Transaction transaction : transactions) {
+                try {
+                    BlockchainApiTransactionBean blockchainApiTransactionBean = new BlockchainApiTransactionBean(
+                        transaction,
+                        base,
+                        quote,
+                        importDepositsAsBuys,
+                        importWithdrawalsAsSells,
+                        importFeesFromDeposits,
+                        importFeesFromWithdrawals
+                    );
+                    transactionClusters.add(blockchainApiTransactionBean.toTransactionCluster());
+                } catch (Exception e) {
+                    LOG.error("Error converting to BlockchainApiTransactionBean: {}", e.getMessage());
+                    LOG.debug("Exception by converting to BlockchainApiTransactionBean.", e);
+                    parsingProblems.add(
+                        new ParsingProblem(
+                            transaction.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED
+                        )
+                    );
+                }
             }
         }
 
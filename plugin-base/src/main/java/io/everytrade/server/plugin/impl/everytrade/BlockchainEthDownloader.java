@@ -2,6 +2,7 @@ package io.everytrade.server.plugin.impl.everytrade;
 
 import io.everytrade.server.parser.exchange.EthBlockchainApiTransactionBean;
 import io.everytrade.server.plugin.api.connector.DownloadResult;
+import io.everytrade.server.plugin.api.parser.ImportSession;
 import io.everytrade.server.plugin.api.parser.ParseResult;
 import io.everytrade.server.plugin.api.parser.ParsingProblem;
 import io.everytrade.server.plugin.api.parser.ParsingProblemType;
@@ -162,24 +163,28 @@ public class BlockchainEthDownloader {
         final List<TransactionCluster> transactionClusters = new ArrayList<>();
         final List<ParsingProblem> parsingProblems = new ArrayList<>();
 
-        for (EtherScanTransactionDto transactionDto : transactionDtos) {
-            try {
-                final var blockchainApiTransactionBean = new EthBlockchainApiTransactionBean(
-                    transactionDto,
-                    address,
-                    fiatCurrency,
-                    importDepositsAsBuys,
-                    importWithdrawalsAsSells,
-                    importFeesFromDeposits,
-                    importFeesFromWithdrawals
-                );
-                transactionClusters.add(blockchainApiTransactionBean.toTransactionCluster());
-            } catch (Exception e) {
-                LOG.error("Error converting to BlockchainApiTransactionBean: {}", e.getMessage());
-                LOG.debug("Exception by converting to BlockchainApiTransactionBean.", e);
-                parsingProblems.add(
-                    new ParsingProblem(transactionDto.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED)
-                );
+        try (ImportSession ignored = ImportSession.open()) {
+            for (EtherScanTransactionDto transactionDto : transactionDtos) {
+                try {
+                    final var blockchainApiTransactionBean = new EthBlockchainApiTransactionBean(
+                        transactionDto,
+                        address,
+                        fiatCurrency,
+                        importDepositsAsBuys,
+                        importWithdrawalsAsSells,
+                        importFeesFromDeposits,
+                        importFeesFromWithdrawals
+                    );
+                    transactionClusters.add(blockchainApiTransactionBean.toTransactionCluster());
+                } catch (Exception e) {
+                    LOG.error("Error converting to BlockchainApiTransactionBean: {}", e.getMessage());
+                    LOG.debug("Exception by converting to BlockchainApiTransactionBean.", e);
+                    parsingProblems.add(
+                        new ParsingProblem(
+                            transactionDto.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED
+                        )
+                    );
+                }
             }
         }
 
@@ -8,6 +8,7 @@ import io.everytrade.server.plugin.api.connector.ConnectorParameterDescriptor;
 import io.everytrade.server.plugin.api.connector.ConnectorParameterType;
 import io.everytrade.server.plugin.api.connector.DownloadResult;
 import io.everytrade.server.plugin.api.connector.IConnector;
+import io.everytrade.server.plugin.api.parser.ImportSession;
 import io.everytrade.server.plugin.api.parser.ParseResult;
 import io.everytrade.server.plugin.api.parser.ParsingProblem;
 import io.everytrade.server.plugin.api.parser.ParsingProblemType;
@@ -98,16 +99,20 @@ public class EveryTradeConnector implements IConnector {
         final List<ParsingProblem> parsingProblems = new ArrayList<>();
         long transactionCount = 0;
         String lastDownloadedTxUid = lastTransactionId;
-        for (EveryTradeApiTransactionBean tx : txs) {
-            try {
-                var cluster = tx.toTransactionCluster();
-                importedClusters.add(cluster);
-                transactionCount += 1 + cluster.getRelated().size();
-                lastDownloadedTxUid = tx.getUid();
-            } catch (Exception e) {
-                LOG.error("Error converting to ImportedTransactionBean: {}: {}", e.getClass().getName(), e.getMessage());
-                LOG.debug("Exception by converting to ImportedTransactionBean.", e);
-                parsingProblems.add(new ParsingProblem(tx.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED));
+        try (ImportSession ignored = ImportSession.open()) {
+            for (EveryTradeApiTransactionBean tx : txs) {
+                try {
+                    var cluster = tx.toTransactionCluster();
+                    importedClusters.add(cluster);
+                    transactionCount += 1 + cluster.getRelated().size();
+                    lastDownloadedTxUid = tx.getUid();
+                } catch (Exception e) {
+                    LOG.error(
+                        "Error converting to ImportedTransactionBean: {}: {}", e.getClass().getName(), e.getMessage()
+                    );
+                    LOG.debug("Exception by converting to ImportedTransactionBean.", e);
+                    parsingProblems.add(new ParsingProblem(tx.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED));
+                }
             }
         }
         LOG.info(
@@ -2,6 +2,7 @@ package io.everytrade.server.plugin.impl.everytrade;
 
 import com.okcoin.commons.okex.open.api.bean.spot.result.OrderInfo;
 import io.everytrade.server.parser.exchange.OkexApiTransactionBean;
+import io.everytrade.server.plugin.api.parser.ImportSession;
 import io.everytrade.server.plugin.api.parser.ParseResult;
 import io.everytrade.server.plugin.api.parser.ParsingProblem;
 import io.everytrade.server.plugin.api.parser.ParsingProblemType;
@@ -21,16 +22,18 @@ public class OkexConnectorParser {
     public static ParseResult getParseResult(List<OrderInfo> orderInfos) {
         final List<TransactionCluster> transactionClusters = new ArrayList<>();
         final List<ParsingProblem> parsingProblems = new ArrayList<>();
-        for (OrderInfo orderInfo : orderInfos) {
-            try {
-                OkexApiTransactionBean okexApiTransactionBean = new OkexApiTransactionBean(orderInfo);
-                transactionClusters.add(okexApiTransactionBean.toTransactionCluster());
-            } catch (Exception e) {
-                LOG.error("Error converting to ImportedTransactionBean: {}", e.getMessage());
-                LOG.debug("Exception by converting to ImportedTransactionBean.", e);
-                parsingProblems.add(
-                    new ParsingProblem(orderInfo.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED)
-                );
+        try (ImportSession ignored = ImportSession.open()) {
+            for (OrderInfo orderInfo : orderInfos) {
+                try {
+                    OkexApiTransactionBean okexApiTransactionBean = new OkexApiTransactionBean(orderInfo);
+                    transactionClusters.add(okexApiTransactionBean.toTransactionCluster());
+                } catch (Exception e) {
+                    LOG.error("Error converting to ImportedTransactionBean: {}", e.getMessage());
+                    LOG.debug("Exception by converting to ImportedTransactionBean.", e);
+                    parsingProblems.add(
+                        new ParsingProblem(orderInfo.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED)
+                    );
+                }
             }
         }
         return new ParseResult(transactionClusters, parsingProblems);
@@ -1,11 +1,14 @@
 package io.everytrade.server.plugin.impl.everytrade;
 
 import io.everytrade.server.model.Currency;
+import io.everytrade.server.model.SupportedExchange;
 import io.everytrade.server.parser.exchange.XChangeApiTransaction;
+import io.everytrade.server.plugin.api.parser.ImportSession;
 import io.everytrade.server.plugin.api.parser.ParseResult;
 import io.everytrade.server.plugin.api.parser.ParsingProblem;
 import io.everytrade.server.plugin.api.parser.ParsingProblemType;
 import io.everytrade.server.plugin.api.parser.TransactionCluster;
+import io.everytrade.server.plugin.api.parser.UidDeduplicator;
 import org.knowm.xchange.bittrex.dto.account.BittrexDepositHistory;
 import org.knowm.xchange.bittrex.dto.account.BittrexWithdrawalHistory;
 import org.knowm.xchange.dto.account.FundingRecord;
@@ -25,21 +28,42 @@ public class XChangeConnectorParser {
 
     private static final Logger LOG = LoggerFactory.getLogger(XChangeConnectorParser.class);
 
+    private final SupportedExchange exchange;
+    private final UidDeduplicator uidDeduplicator;
+
+    public XChangeConnectorParser() {
+        this(null, null);
+    }
+
+    /**
+     * @param exchange        exchange the uids are keyed by.
+     * @param uidDeduplicator uids seen so far, clusters with a seen main transaction uid are reported as ignored
+     *                        instead of being returned. Null keeps all the clusters.
+     */
+    public XChangeConnectorParser(SupportedExchange exchange, UidDeduplicator uidDeduplicator) {
+        this.exchange = exchange;
+        this.uidDeduplicator = uidDeduplicator;
+    }
+
     public ParseResult getParseResult(List<UserTrade> userTrades, List<FundingRecord> funding) {
         final List<ParsingProblem> parsingProblems = new ArrayList<>();
-        final List<TransactionCluster> transactionClusters = tradesToCluster(userTrades, parsingProblems);
-        transactionClusters.addAll(fundingToCluster(funding, parsingProblems));
-        return new ParseResult(transactionClusters, parsingProblems);
+        try (ImportSession ignored = ImportSession.open()) {
+            final List<TransactionCluster> transactionClusters = tradesToCluster(userTrades, parsingProblems);
+            transactionClusters.addAll(fundingToCluster(funding, parsingProblems));
+            return new ParseResult(removeDuplicates(transactionClusters, parsingProblems), parsingProblems);
+        }
     }
 
     public ParseResult getBittrexResult(List<UserTrade> trades,
                                         List<BittrexDepositHistory> deposits,
                                         List<BittrexWithdrawalHistory> withdrawals) {
         final List<ParsingProblem> parsingProblems = new ArrayList<>();
-        final List<TransactionCluster> transactionClusters = tradesToCluster(trades, parsingProblems);
-        transactionClusters.addAll(bittrexDepositsToCluster(deposits, parsingProblems));
-        transactionClusters.addAll(bittrexWithdrawalsToCluster(withdrawals, parsingProblems));
-        return new ParseResult(transactionClusters, parsingProblems);
+        try (ImportSession ignored = ImportSession.open()) {
+            final List<TransactionCluster> transactionClusters = tradesToCluster(trades, parsingProblems);
+            transactionClusters.addAll(bittrexDepositsToCluster(deposits, parsingProblems));
+            transactionClusters.addAll(bittrexWithdrawalsToCluster(withdrawals, parsingProblems));
+            return new ParseResult(removeDuplicates(transactionClusters, parsingProblems), parsingProblems);
+        }
     }
 
     protected List<TransactionCluster> tradesToCluster(List<UserTrade> trades, List<ParsingProblem> problems) {
@@ -118,6 +142,18 @@ public class XChangeConnectorParser {
             .collect(toList());
     }
 
+    private List<TransactionCluster> removeDuplicates(
+        List<TransactionCluster> transactionClusters,
+        List<ParsingProblem> problems
+    ) {
+        if (uidDeduplicator == null) {
+            return transactionClusters;
+        }
+        final List<TransactionCluster> unique = new ArrayList<>(transactionClusters.size());
+        transactionClusters.forEach(uidDeduplicator.filter(exchange, unique::add, problems::add));
+        return unique;
+    }
+
     private void logParsingError(Exception e, List<ParsingProblem> parsingProblems, String row) {
         LOG.error("Error converting to ImportedTransactionBean: {}", e.getMessage());
         LOG.debug("Exception by converting to ImportedTransactionBean.", e);
@@ -0,0 +1,181 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import io.everytrade.server.plugin.impl.everytrade.parser.exception.ParsingProcessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Parses many files concurrently, e.g. all uploads of an account. The exchange of every file is detected once from
+ * its beginning, see {@link EverytradeCsvMultiParser#parse(File)}, so no headers are needed. At most
+ * {@code parallelism} files are parsed at the same time and new files are not started while the sizes of the files
+ * in flight would exceed {@code maxInFlightBytes}, the file size standing in for the memory its parsing takes. A
+ * larger file is parsed alone. A file failing, e.g. for an unknown header, does not stop the others.
+ */
+public class BatchImporter {
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+    private final EverytradeCsvMultiParser parser;
+    private final int parallelism;
+    private final long maxInFlightBytes;
+
+    public BatchImporter(EverytradeCsvMultiParser parser, int parallelism, long maxInFlightBytes) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        if (maxInFlightBytes < 1) {
+            throw new IllegalArgumentException("In-flight bytes must be positive.");
+        }
+        this.parser = Objects.requireNonNull(parser);
+        this.parallelism = parallelism;
+        this.maxInFlightBytes = maxInFlightBytes;
+    }
+
+    /**
+     * @return results in the order of the files.
+     */
+    public List<FileParseResult> parseAll(Collection<File> files, Consumer<BatchProgress> progressListener) {
+        final FileParseResult[] results = new FileParseResult[files.size()];
+        parseAll(files, (result, index) -> results[index] = result, progressListener);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Streaming variant of {@link #parseAll(Collection, Consumer)}, a result is passed on as its file finishes and
+     * stops counting to the in-flight bytes once the consumer returns. The consumer and the listener are not called
+     * concurrently.
+     */
+    public void parseAll(
+        Collection<File> files,
+        Consumer<FileParseResult> resultConsumer,
+        Consumer<BatchProgress> progressListener
+    ) {
+        parseAll(files, (result, index) -> resultConsumer.accept(result), progressListener);
+    }
+
+    private void parseAll(
+        Collection<File> files,
+        ObjIntConsumer<FileParseResult> resultConsumer,
+        Consumer<BatchProgress> progressListener
+    ) {
+        final Progress progress = new Progress(files.size(), files.stream().mapToLong(File::length).sum());
+        final InFlightBytes inFlightBytes = new InFlightBytes(maxInFlightBytes);
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, files.size())));
+        try {
+            final List<Future<?>> tasks = new ArrayList<>();
+            int index = 0;
+            for (File file : files) {
+                final int fileIndex = index++;
+                final long size = file.length();
+                inFlightBytes.acquire(size);
+                tasks.add(executor.submit(() -> {
+                    try {
+                        final FileParseResult result = parse(file);
+                        synchronized (progress) {
+                            resultConsumer.accept(result, fileIndex);
+                            progressListener.accept(progress.add(size, result));
+                        }
+                    } finally {
+                        inFlightBytes.release(size);
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ParsingProcessException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParsingProcessException("Parsing interrupted.");
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info(
+            "{} file(s) parsed, {} failed, {} transaction cluster(s).",
+            progress.finishedFileCount,
+            progress.failedFileCount,
+            progress.transactionClusterCount
+        );
+    }
+
+    private FileParseResult parse(File file) {
+        try {
+            return new FileParseResult(file, parser.parse(file), null);
+        } catch (RuntimeException e) {
+            log.warn("File {} not parsed: {}", file.getName(), e.getMessage());
+            return new FileParseResult(file, null, e);
+        }
+    }
+
+    private static final class Progress {
+        private final int fileCount;
+        private final long totalBytes;
+        private int finishedFileCount;
+        private int failedFileCount;
+        private long finishedBytes;
+        private long transactionClusterCount;
+        private long parsingProblemCount;
+
+        private Progress(int fileCount, long totalBytes) {
+            this.fileCount = fileCount;
+            this.totalBytes = totalBytes;
+        }
+
+        private BatchProgress add(long bytes, FileParseResult result) {
+            finishedFileCount++;
+            finishedBytes += bytes;
+            if (result.getParseResult() == null) {
+                failedFileCount++;
+            } else {
+                transactionClusterCount += result.getParseResult().getTransactionClusters().size();
+                parsingProblemCount += result.getParseResult().getParsingProblems().size();
+            }
+            return new BatchProgress(
+                fileCount,
+                finishedFileCount,
+                failedFileCount,
+                totalBytes,
+                finishedBytes,
+                transactionClusterCount,
+                parsingProblemCount
+            );
+        }
+    }
+
+    private static final class InFlightBytes {
+        private final long max;
+        private long inFlight;
+
+        private InFlightBytes(long max) {
+            this.max = max;
+        }
+
+        // a file over the limit waits for all the others and runs alone
+        private synchronized void acquire(long bytes) throws InterruptedException {
+            while (inFlight > 0 && inFlight + bytes > max) {
+                wait();
+            }
+            inFlight += bytes;
+        }
+
+        private synchronized void release(long bytes) {
+            inFlight -= bytes;
+            notifyAll();
+        }
+    }
+}
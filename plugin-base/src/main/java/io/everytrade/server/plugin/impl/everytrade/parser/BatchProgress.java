@@ -0,0 +1,15 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import lombok.Value;
+
+/** Progress of a {@link BatchImporter} after a file has finished. */
+@Value
+public class BatchProgress {
+    int fileCount;
+    int finishedFileCount;
+    int failedFileCount;
+    long totalBytes;
+    long finishedBytes;
+    long transactionClusterCount;
+    long parsingProblemCount;
+}
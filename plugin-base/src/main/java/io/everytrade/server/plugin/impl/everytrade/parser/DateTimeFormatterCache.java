@@ -0,0 +1,50 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe registry of compiled {@link DateTimeFormatter}s (US locale, UTC zone) keyed by pattern. Patterns are
+ * compiled only once; when the registry is full, formatters of new patterns are compiled on each call and not stored.
+ */
+public final class DateTimeFormatterCache {
+    private static final int MAX_SIZE = 256;
+
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private DateTimeFormatterCache() {
+    }
+
+    public static DateTimeFormatter get(String dateTimePattern) {
+        DateTimeFormatter formatter = FORMATTERS.get(dateTimePattern);
+        if (formatter != null) {
+            HITS.increment();
+            return formatter;
+        }
+        MISSES.increment();
+        formatter = DateTimeFormatter.ofPattern(dateTimePattern, Locale.US).withZone(ZoneOffset.UTC);
+        if (FORMATTERS.size() < MAX_SIZE) {
+            final DateTimeFormatter cached = FORMATTERS.putIfAbsent(dateTimePattern, formatter);
+            return cached == null ? formatter : cached;
+        }
+        return formatter;
+    }
+
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    public static int size() {
+        return FORMATTERS.size();
+    }
+}
@@ -2,20 +2,27 @@ package io.everytrade.server.plugin.impl.everytrade.parser;
 
 import com.univocity.parsers.common.DataValidationException;
 import io.everytrade.server.plugin.api.IPlugin;
+import io.everytrade.server.plugin.api.parser.ColumnarTransactionClusters;
 import io.everytrade.server.plugin.api.parser.ICsvParser;
+import io.everytrade.server.plugin.api.parser.ImportSession;
+import io.everytrade.server.plugin.api.parser.ParseListener;
 import io.everytrade.server.plugin.api.parser.ParseResult;
 import io.everytrade.server.plugin.api.parser.ParserDescriptor;
 import io.everytrade.server.plugin.api.parser.ParsingProblem;
 import io.everytrade.server.plugin.api.parser.ParsingProblemType;
 import io.everytrade.server.plugin.api.parser.TransactionCluster;
+import io.everytrade.server.plugin.api.parser.UidDeduplicator;
 import io.everytrade.server.plugin.csv.CsvHeader;
+import io.everytrade.server.plugin.csv.CsvHeaderIndex;
 import io.everytrade.server.plugin.impl.everytrade.EveryTradePlugin;
+import io.everytrade.server.plugin.impl.everytrade.parser.exception.ParsingProcessException;
 import io.everytrade.server.plugin.impl.everytrade.parser.exception.UnknownHeaderException;
 import io.everytrade.server.plugin.impl.everytrade.parser.exchange.BitfinexExchangeSpecificParser;
 import io.everytrade.server.plugin.impl.everytrade.parser.exchange.CoinbaseExchangeSpecificParser;
 import io.everytrade.server.plugin.impl.everytrade.parser.exchange.DefaultUnivocityExchangeSpecificParser;
 import io.everytrade.server.plugin.impl.everytrade.parser.exchange.ExchangeBean;
 import io.everytrade.server.plugin.impl.everytrade.parser.exchange.IExchangeSpecificParser;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.MappedFileReader;
 import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.AquanowBeanV1;
 import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.BinanceBeanV1;
 import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.BitflyerBeanV1;
@@ -52,10 +59,21 @@ import io.everytrade.server.plugin.impl.everytrade.parser.exchange.everytrade.Ev
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 import static io.everytrade.server.model.SupportedExchange.AQUANOW;
 import static io.everytrade.server.model.SupportedExchange.BINANCE;
@@ -81,6 +99,7 @@ import static io.everytrade.server.model.SupportedExchange.POLONIEX;
 import static io.everytrade.server.model.SupportedExchange.SHAKEPAY;
 import static io.everytrade.server.plugin.api.parser.ParsingProblemType.ROW_PARSING_FAILED;
 import static java.util.Map.entry;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 public class EverytradeCsvMultiParser implements ICsvParser {
@@ -89,6 +108,8 @@ public class EverytradeCsvMultiParser implements ICsvParser {
     private static final String DELIMITER_SEMICOLON = ";";
     private static final String LINE_SEPARATOR = "\n";
     private static final List<String> DELIMITERS = List.of(DELIMITER_COMMA, DELIMITER_SEMICOLON);
+    // parse results are plain lists unless the caller opts in to the columnar ones
+    private static final long NO_COLUMNAR_RESULT = Long.MAX_VALUE;
 
     private static final List<ExchangeParseDetail> EXCHANGE_PARSE_DETAILS = new ArrayList<>();
 
@@ -137,6 +158,8 @@ public class EverytradeCsvMultiParser implements ICsvParser {
             ))
             .parserFactory(() -> new DefaultUnivocityExchangeSpecificParser(BitflyerBeanV1.class, DELIMITER_SEMICOLON))
             .supportedExchange(BITFLYER)
+            // the uid is the order id, which partial fills share
+            .uidUniquePerRow(false)
             .build());
 
         /* BITMEX */
@@ -149,6 +172,8 @@ public class EverytradeCsvMultiParser implements ICsvParser {
             ))
             .parserFactory(() -> new DefaultUnivocityExchangeSpecificParser(BitmexBeanV1.class))
             .supportedExchange(BITMEX)
+            // the uid is the order id, which partial fills share
+            .uidUniquePerRow(false)
             .build());
 
         /* BITSTAMP */
@@ -261,6 +286,9 @@ public class EverytradeCsvMultiParser implements ICsvParser {
                         "ADDRESS_FROM", "ADDRESS_TO"
                     ).withSeparator(delimiter)))
                 .parserFactory(() -> new DefaultUnivocityExchangeSpecificParser(EveryTradeBeanV3_1.class, delimiter))
+                .parallelParserFactory(parallelism -> new DefaultUnivocityExchangeSpecificParser(
+                    EveryTradeBeanV3_1.class, delimiter, null, parallelism
+                ))
                 .supportedExchange(EVERYTRADE)
                 .build());
             EXCHANGE_PARSE_DETAILS.add(ExchangeParseDetail.builder()
@@ -494,7 +522,49 @@ public class EverytradeCsvMultiParser implements ICsvParser {
             )
             .collect(toMap(Map.Entry::getKey, Map.Entry::getValue))
     );
+    private static final CsvHeaderIndex<ExchangeParseDetail> EXCHANGE_PARSE_DETAIL_INDEX = new CsvHeaderIndex<>(
+        EXCHANGE_PARSE_DETAILS.stream()
+            .flatMap(epd -> epd.getHeaders().stream().map(h -> entry(h, epd)))
+            .collect(toList())
+    );
+    private static final ExchangeDetector EXCHANGE_DETECTOR = new ExchangeDetector(EXCHANGE_PARSE_DETAILS);
     private final Logger log = LoggerFactory.getLogger(this.getClass());
+    private final long columnarResultFileSize;
+    private final int parsingParallelism;
+
+    /**
+     * Creates a parser returning the transaction clusters in an {@link ArrayList}, parsing every file on the calling
+     * thread.
+     */
+    public EverytradeCsvMultiParser() {
+        this(NO_COLUMNAR_RESULT);
+    }
+
+    /**
+     * @param columnarResultFileSize minimal size of a file whose parse result is returned as
+     *                               {@link ColumnarTransactionClusters}, smaller files get an {@link ArrayList}. The
+     *                               columnar list is read-only and builds a new cluster on every get, changes made to
+     *                               a returned cluster are lost. {@link Long#MAX_VALUE} always returns an ArrayList.
+     */
+    public EverytradeCsvMultiParser(long columnarResultFileSize) {
+        this(columnarResultFileSize, 1);
+    }
+
+    /**
+     * @param columnarResultFileSize minimal size of a file whose parse result is returned as
+     *                               {@link ColumnarTransactionClusters}, smaller files get an {@link ArrayList}. The
+     *                               columnar list is read-only and builds a new cluster on every get, changes made to
+     *                               a returned cluster are lost. {@link Long#MAX_VALUE} always returns an ArrayList.
+     * @param parsingParallelism     number of chunks of a large file parsed concurrently, applies only to formats
+     *                               whose rows do not depend on each other. 1 parses every file on the calling thread.
+     */
+    public EverytradeCsvMultiParser(long columnarResultFileSize, int parsingParallelism) {
+        if (parsingParallelism < 1) {
+            throw new IllegalArgumentException("Parsing parallelism has to be positive: " + parsingParallelism);
+        }
+        this.columnarResultFileSize = columnarResultFileSize;
+        this.parsingParallelism = parsingParallelism;
+    }
 
     @Override
     public String getId() {
@@ -503,47 +573,400 @@ public class EverytradeCsvMultiParser implements ICsvParser {
 
     @Override
     public ParseResult parse(File file, String header) {
-        var exchangeParseDetail = findCsvDetailByHeader(header);
-        if (exchangeParseDetail == null) {
-            throw new UnknownHeaderException(String.format("Unknown header: '%s'", header));
+        final List<TransactionCluster> transactionClusters = file.length() >= columnarResultFileSize
+            ? new ColumnarTransactionClusters()
+            : new ArrayList<>();
+        final List<ParsingProblem> parsingProblems = new ArrayList<>();
+        final List<ParsingProblem> conversionProblems = new ArrayList<>();
+        parse(file, header, transactionClusters::add, parsingProblems::add, conversionProblems::add, null);
+        // problems of rows which failed to convert to a cluster are reported after the parser ones
+        parsingProblems.addAll(conversionProblems);
+        return new ParseResult(transactionClusters, parsingProblems);
+    }
+
+    @Override
+    public void parse(
+        File file,
+        String header,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        parse(file, header, transactionClusterConsumer, parsingProblemConsumer, parsingProblemConsumer, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Uids are keyed by the exchange of the header, duplicate rows are reported as they are read.
+     */
+    @Override
+    public void parse(
+        File file,
+        String header,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer,
+        UidDeduplicator uidDeduplicator
+    ) {
+        parse(
+            file,
+            header,
+            transactionClusterConsumer,
+            parsingProblemConsumer,
+            parsingProblemConsumer,
+            Objects.requireNonNull(uidDeduplicator)
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     * Streaming parsers read the file through a counting reader on the calling thread, also the ones otherwise
+     * splitting large files across threads, and the cancellation is checked after every row. Other parsers get the
+     * file itself and read it whole before the first row is handed over, see {@link ParseListener#isCancelled()}.
+     */
+    @Override
+    public ParseResult parse(File file, String header, ParseListener parseListener) {
+        final ExchangeParseDetail exchangeParseDetail = getExchangeParseDetail(header);
+        final List<TransactionCluster> transactionClusters = file.length() >= columnarResultFileSize
+            ? new ColumnarTransactionClusters()
+            : new ArrayList<>();
+        final List<ParsingProblem> parsingProblems = new ArrayList<>();
+        final List<ParsingProblem> conversionProblems = new ArrayList<>();
+        final boolean memoryMapped = exchangeParseDetail.getInput() == ExchangeParseDetail.Input.MEMORY_MAPPED;
+        final AtomicBoolean fileRead = new AtomicBoolean();
+        try (
+            CountingInputStream input = memoryMapped ? null : new CountingInputStream(new FileInputStream(file));
+            Reader reader = memoryMapped ? new MappedFileReader(file) : new InputStreamReader(input, StandardCharsets.UTF_8)
+        ) {
+            final LongSupplier bytesRead = memoryMapped
+                ? ((MappedFileReader) reader)::getBytesDecoded
+                : input::getCount;
+            final ParseMonitor parseMonitor = new ParseMonitor(
+                parseListener,
+                () -> fileRead.get() ? file.length() : bytesRead.getAsLong()
+            );
+            parse(
+                exchangeParseDetail,
+                (exchangeParser, beanConsumer, problemConsumer) -> {
+                    parseMonitor.checkCancelled();
+                    if (exchangeParser.isStreaming()) {
+                        exchangeParser.parse(reader, beanConsumer, problemConsumer);
+                        return;
+                    }
+                    // no temporary copy of the reader, the parser reads the whole file before handing over the rows
+                    final List<? extends ExchangeBean> beans = exchangeParser.parse(file);
+                    fileRead.set(true);
+                    beans.forEach(beanConsumer);
+                    exchangeParser.getParsingProblems().forEach(problemConsumer);
+                },
+                transactionClusters::add,
+                parsingProblems::add,
+                conversionProblems::add,
+                null,
+                parseMonitor
+            );
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
         }
-        var exchangeParser = exchangeParseDetail.getParserFactory().get();
-        var listBeans = exchangeParser.parse(file);
-        var parsingProblems = new ArrayList<>(exchangeParser.getParsingProblems());
+        parsingProblems.addAll(conversionProblems);
+        return new ParseResult(transactionClusters, parsingProblems);
+    }
 
-        List<TransactionCluster> transactionClusters = new ArrayList<>();
-        for (ExchangeBean p : listBeans) {
-            try {
-                transactionClusters.add(p.toTransactionCluster());
-            } catch (DataValidationException e) {
-                parsingProblems.add(new ParsingProblem(p.rowToString(), e.getMessage(), ROW_PARSING_FAILED));
+    /**
+     * Detects the exchange from the beginning of the file, see {@link ExchangeDetector}, and parses the file. The
+     * header is not needed, the file is read once more for the detection sample only. Files with a byte order mark or
+     * preamble lines are parsed like {@link #parse(InputStream)}.
+     * @param file CSV file to be parsed.
+     * @return parsing result
+     */
+    public ParseResult parse(File file) {
+        final ExchangeDetection detection;
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file), ExchangeDetector.SAMPLE_SIZE)) {
+            detection = EXCHANGE_DETECTOR.detect(input)
+                .orElseThrow(() -> new UnknownHeaderException(String.format("Unknown header of %s.", file.getName())));
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+        }
+        final List<TransactionCluster> transactionClusters = file.length() >= columnarResultFileSize
+            ? new ColumnarTransactionClusters()
+            : new ArrayList<>();
+        final List<ParsingProblem> parsingProblems = new ArrayList<>();
+        final List<ParsingProblem> conversionProblems = new ArrayList<>();
+        if (detection.getDataOffset() == 0 && StandardCharsets.UTF_8.equals(detection.getCharset())) {
+            parse(
+                file,
+                detection.getExchangeParseDetail(),
+                transactionClusters::add,
+                parsingProblems::add,
+                conversionProblems::add,
+                null
+            );
+        } else {
+            try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+                parse(input, detection, transactionClusters::add, parsingProblems::add, conversionProblems::add);
+            } catch (IOException e) {
+                throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+            }
+        }
+        parsingProblems.addAll(conversionProblems);
+        return new ParseResult(transactionClusters, parsingProblems);
+    }
+
+    /**
+     * Detects the exchange from the beginning of the stream, see {@link ExchangeDetector}, and parses the stream. The
+     * stream is read once and the caller does not read the header. The stream is not closed.
+     * @param inputStream CSV data
+     * @return parsing result
+     */
+    public ParseResult parse(InputStream inputStream) {
+        final List<TransactionCluster> transactionClusters = new ArrayList<>();
+        final List<ParsingProblem> parsingProblems = new ArrayList<>();
+        final List<ParsingProblem> conversionProblems = new ArrayList<>();
+        parse(inputStream, transactionClusters::add, parsingProblems::add, conversionProblems::add);
+        parsingProblems.addAll(conversionProblems);
+        return new ParseResult(transactionClusters, parsingProblems);
+    }
+
+    /**
+     * Streaming variant of {@link #parse(InputStream)}, see {@link #parse(File, String, Consumer, Consumer)}.
+     */
+    public void parse(
+        InputStream inputStream,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        parse(inputStream, transactionClusterConsumer, parsingProblemConsumer, parsingProblemConsumer);
+    }
+
+    private void parse(
+        InputStream inputStream,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer,
+        Consumer<ParsingProblem> conversionProblemConsumer
+    ) {
+        try {
+            final InputStream input = new BufferedInputStream(inputStream, ExchangeDetector.SAMPLE_SIZE);
+            final ExchangeDetection detection = EXCHANGE_DETECTOR.detect(input)
+                .orElseThrow(() -> new UnknownHeaderException("Unknown header."));
+            parse(input, detection, transactionClusterConsumer, parsingProblemConsumer, conversionProblemConsumer);
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+        }
+    }
+
+    // input is at the beginning of the detected data
+    private void parse(
+        InputStream input,
+        ExchangeDetection detection,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer,
+        Consumer<ParsingProblem> conversionProblemConsumer
+    ) throws IOException {
+        skip(input, detection.getDataOffset());
+        final Reader reader = new InputStreamReader(input, detection.getCharset());
+        parse(
+            detection.getExchangeParseDetail(),
+            (exchangeParser, beanConsumer, problemConsumer)
+                -> exchangeParser.parse(reader, beanConsumer, problemConsumer),
+            transactionClusterConsumer,
+            parsingProblemConsumer,
+            conversionProblemConsumer,
+            null,
+            null
+        );
+    }
+
+    private void parse(
+        File file,
+        String header,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer,
+        Consumer<ParsingProblem> conversionProblemConsumer,
+        UidDeduplicator uidDeduplicator
+    ) {
+        parse(
+            file,
+            getExchangeParseDetail(header),
+            transactionClusterConsumer,
+            parsingProblemConsumer,
+            conversionProblemConsumer,
+            uidDeduplicator
+        );
+    }
+
+    private void parse(
+        File file,
+        ExchangeParseDetail exchangeParseDetail,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer,
+        Consumer<ParsingProblem> conversionProblemConsumer,
+        UidDeduplicator uidDeduplicator
+    ) {
+        parse(
+            exchangeParseDetail,
+            (exchangeParser, beanConsumer, problemConsumer) -> {
+                if (exchangeParseDetail.getInput() == ExchangeParseDetail.Input.MEMORY_MAPPED) {
+                    try (Reader reader = new MappedFileReader(file)) {
+                        exchangeParser.parse(reader, beanConsumer, problemConsumer);
+                    } catch (IOException e) {
+                        throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+                    }
+                } else {
+                    exchangeParser.parse(file, beanConsumer, problemConsumer);
+                }
+            },
+            transactionClusterConsumer,
+            parsingProblemConsumer,
+            conversionProblemConsumer,
+            uidDeduplicator,
+            null
+        );
+    }
+
+    // beans are converted to clusters as they are parsed and are not retained, uidDeduplicator and parseMonitor are
+    // optional
+    private void parse(
+        ExchangeParseDetail exchangeParseDetail,
+        ParserInvocation parserInvocation,
+        Consumer<TransactionCluster> transactionClusterConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer,
+        Consumer<ParsingProblem> conversionProblemConsumer,
+        UidDeduplicator uidDeduplicator,
+        ParseMonitor parseMonitor
+    ) {
+        var exchangeParser = exchangeParseDetail.createParser(parsingParallelism);
+        var rowConsumer = new RowConsumer(
+            exchangeParseDetail,
+            transactionClusterConsumer,
+            parsingProblemConsumer,
+            conversionProblemConsumer,
+            uidDeduplicator,
+            parseMonitor
+        );
+        try (ImportSession ignored = ImportSession.open()) {
+            parserInvocation.parse(exchangeParser, rowConsumer::acceptBean, rowConsumer::acceptParsingProblem);
+        } catch (RuntimeException e) {
+            // exchange parsers may wrap the cancellation
+            if (parseMonitor == null || !parseMonitor.isCancelled()) {
+                throw e;
             }
+            log.info("Parsing cancelled.");
+        }
+        if (parseMonitor != null) {
+            parseMonitor.done(rowConsumer.transactionClusterCount, rowConsumer.parsingProblemCount);
         }
 
         log.info(
             "{} transaction cluster(s) with {} transactions parsed successfully.",
-            transactionClusters.size(),
-            countTransactions(transactionClusters)
+            rowConsumer.transactionClusterCount,
+            rowConsumer.transactionCount
         );
-        if (!parsingProblems.isEmpty()) {
-            log.warn("{} row(s) not parsed.", parsingProblems.size());
+        if (rowConsumer.parsingProblemCount > 0) {
+            log.warn("{} row(s) not parsed.", rowConsumer.parsingProblemCount);
         }
+    }
 
-        return new ParseResult(transactionClusters, parsingProblems);
+    /**
+     * Converts the parsed beans to transaction clusters and counts the rows, called on the parsing thread. The raw row
+     * of a bean is kept for problem reports only and is released once the cluster is handed over.
+     */
+    static final class RowConsumer {
+        private final ExchangeParseDetail exchangeParseDetail;
+        private final Consumer<TransactionCluster> transactionClusterConsumer;
+        private final Consumer<ParsingProblem> parsingProblemConsumer;
+        private final Consumer<ParsingProblem> conversionProblemConsumer;
+        private final UidDeduplicator uidDeduplicator;
+        private final ParseMonitor parseMonitor;
+        private int transactionClusterCount;
+        private int transactionCount;
+        private int parsingProblemCount;
+
+        // uidDeduplicator and parseMonitor are optional
+        RowConsumer(
+            ExchangeParseDetail exchangeParseDetail,
+            Consumer<TransactionCluster> transactionClusterConsumer,
+            Consumer<ParsingProblem> parsingProblemConsumer,
+            Consumer<ParsingProblem> conversionProblemConsumer,
+            UidDeduplicator uidDeduplicator,
+            ParseMonitor parseMonitor
+        ) {
+            this.exchangeParseDetail = exchangeParseDetail;
+            this.transactionClusterConsumer = transactionClusterConsumer;
+            this.parsingProblemConsumer = parsingProblemConsumer;
+            this.conversionProblemConsumer = conversionProblemConsumer;
+            this.uidDeduplicator = uidDeduplicator;
+            this.parseMonitor = parseMonitor;
+        }
+
+        void acceptBean(ExchangeBean bean) {
+            final TransactionCluster transactionCluster;
+            try {
+                transactionCluster = bean.toTransactionCluster();
+            } catch (DataValidationException e) {
+                parsingProblemCount++;
+                conversionProblemConsumer.accept(
+                    new ParsingProblem(bean.rowToString(), e.getMessage(), ROW_PARSING_FAILED)
+                );
+                afterRow();
+                return;
+            }
+            final String uid = transactionCluster.getMain().getUid();
+            final boolean duplicate = uidDeduplicator != null
+                && exchangeParseDetail.isUidUniquePerRow()
+                && !uidDeduplicator.add(exchangeParseDetail.getSupportedExchange(), uid);
+            if (duplicate) {
+                parsingProblemCount++;
+                conversionProblemConsumer.accept(UidDeduplicator.duplicateProblem(bean.rowToString(), uid));
+                afterRow();
+                return;
+            }
+            bean.releaseRowValues();
+            transactionClusterCount++;
+            transactionCount += 1 + transactionCluster.getRelated().size();
+            transactionClusterConsumer.accept(transactionCluster);
+            afterRow();
+        }
+
+        void acceptParsingProblem(ParsingProblem problem) {
+            parsingProblemCount++;
+            parsingProblemConsumer.accept(problem);
+            afterRow();
+        }
+
+        private void afterRow() {
+            if (parseMonitor != null) {
+                parseMonitor.afterRow(transactionClusterCount, parsingProblemCount);
+            }
+        }
     }
 
-    private ExchangeParseDetail findCsvDetailByHeader(String header) {
-        return EXCHANGE_PARSE_DETAILS.stream()
-            .filter(parseDetail -> parseDetail.getHeaders().stream().anyMatch(h -> h.matching(header)))
-            .findFirst()
-            .orElse(null);
+    private static void skip(InputStream inputStream, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            final long skipped = inputStream.skip(remaining);
+            if (skipped <= 0) {
+                throw new IOException("Unexpected end of stream.");
+            }
+            remaining -= skipped;
+        }
     }
 
-    private int countTransactions(List<TransactionCluster> transactionClusters) {
-        int counter = 0;
-        for (TransactionCluster transactionCluster : transactionClusters) {
-            counter = counter + 1 + transactionCluster.getRelated().size();
+    private ExchangeParseDetail getExchangeParseDetail(String header) {
+        var exchangeParseDetail = findCsvDetailByHeader(header);
+        if (exchangeParseDetail == null) {
+            throw new UnknownHeaderException(String.format("Unknown header: '%s'", header));
         }
-        return counter;
+        return exchangeParseDetail;
+    }
+
+    private ExchangeParseDetail findCsvDetailByHeader(String header) {
+        var headerEntry = EXCHANGE_PARSE_DETAIL_INDEX.find(header);
+        return headerEntry == null ? null : headerEntry.getValue();
+    }
+
+    private interface ParserInvocation {
+        void parse(
+            IExchangeSpecificParser exchangeParser,
+            Consumer<ExchangeBean> beanConsumer,
+            Consumer<ParsingProblem> parsingProblemConsumer
+        );
     }
 }
@@ -0,0 +1,24 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.charset.Charset;
+
+@Value
+public class ExchangeDetection {
+
+    @NonNull
+    ExchangeParseDetail exchangeParseDetail;
+
+    /** Decoded header line without the line break. */
+    @NonNull
+    String headerLine;
+
+    /** Charset of the data selected by its byte order mark, UTF-8 without one. */
+    @NonNull
+    Charset charset;
+
+    /** Byte offset of the header line, i.e. of the CSV data after the byte order mark and preamble lines. */
+    long dataOffset;
+}
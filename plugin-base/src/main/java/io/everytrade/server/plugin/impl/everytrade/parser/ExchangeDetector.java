@@ -0,0 +1,134 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import io.everytrade.server.plugin.csv.CsvHeader;
+import io.everytrade.server.plugin.csv.CsvHeaderIndex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Map.entry;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Detects the exchange of CSV data from a sample of its beginning, so that the data are read once and the header line
+ * does not have to be read separately. A byte order mark selects the charset of the sample, UTF-8 without one. The
+ * first {@value #MAX_HEADER_LINES} lines are matched against the header templates, so the header may follow preamble
+ * lines like the disclaimer of Coinbase reports. The line matching the template with the most columns wins, the
+ * earlier line on a tie, so a single column template matching a preamble line loses to the header below it.
+ */
+public class ExchangeDetector {
+    public static final int SAMPLE_SIZE = 16 * 1024;
+    private static final int MAX_HEADER_LINES = 16;
+
+    private final CsvHeaderIndex<ExchangeParseDetail> index;
+
+    public ExchangeDetector(List<ExchangeParseDetail> exchangeParseDetails) {
+        this.index = new CsvHeaderIndex<>(
+            exchangeParseDetails.stream()
+                .flatMap(epd -> epd.getHeaders().stream().map(h -> entry(h, epd)))
+                .collect(toList())
+        );
+    }
+
+    /**
+     * Reads a sample from the stream and resets the stream to the marked position. The caller skips
+     * {@link ExchangeDetection#getDataOffset()} bytes of the stream before parsing.
+     * @param inputStream stream supporting mark and reset, e.g. {@link java.io.BufferedInputStream}
+     */
+    public Optional<ExchangeDetection> detect(InputStream inputStream) throws IOException {
+        if (!inputStream.markSupported()) {
+            throw new IllegalArgumentException("Input stream does not support mark and reset.");
+        }
+        inputStream.mark(SAMPLE_SIZE);
+        try {
+            final byte[] sample = inputStream.readNBytes(SAMPLE_SIZE);
+            return detect(sample, sample.length, sample.length < SAMPLE_SIZE);
+        } finally {
+            inputStream.reset();
+        }
+    }
+
+    /**
+     * @param sample beginning of the data
+     * @param length number of sample bytes
+     * @param complete if the sample contains all the data, otherwise its last line without a line break is skipped
+     */
+    public Optional<ExchangeDetection> detect(byte[] sample, int length, boolean complete) {
+        final Charset charset;
+        final int bomLength;
+        if (hasPrefix(sample, length, 0xEF, 0xBB, 0xBF)) {
+            charset = StandardCharsets.UTF_8;
+            bomLength = 3;
+        } else if (hasPrefix(sample, length, 0xFE, 0xFF)) {
+            charset = StandardCharsets.UTF_16BE;
+            bomLength = 2;
+        } else if (hasPrefix(sample, length, 0xFF, 0xFE)) {
+            charset = StandardCharsets.UTF_16LE;
+            bomLength = 2;
+        } else {
+            charset = StandardCharsets.UTF_8;
+            bomLength = 0;
+        }
+        final int unit = charset == StandardCharsets.UTF_8 ? 1 : 2;
+
+        Map.Entry<CsvHeader, ExchangeParseDetail> best = null;
+        String bestLine = null;
+        int bestOffset = 0;
+        int lineStart = bomLength;
+        for (int line = 0; line < MAX_HEADER_LINES && lineStart + unit <= length; line++) {
+            int lineEnd = lineStart;
+            int ch = -1;
+            while (lineEnd + unit <= length && (ch = charAt(sample, lineEnd, charset)) != '\n' && ch != '\r') {
+                lineEnd += unit;
+            }
+            if (lineEnd + unit > length && !complete) {
+                break; // the line continues after the sample
+            }
+            final String headerLine = new String(sample, lineStart, lineEnd - lineStart, charset);
+            final Map.Entry<CsvHeader, ExchangeParseDetail> entry = index.find(headerLine);
+            if (entry != null
+                && (best == null || entry.getKey().getColumnCount() > best.getKey().getColumnCount())
+            ) {
+                best = entry;
+                bestLine = headerLine;
+                bestOffset = lineStart;
+            }
+            lineStart = lineEnd + unit;
+            if (ch == '\r' && lineStart + unit <= length && charAt(sample, lineStart, charset) == '\n') {
+                lineStart += unit;
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ExchangeDetection(best.getValue(), bestLine, charset, bestOffset));
+    }
+
+    // line breaks are ASCII, so UTF-8 continuation bytes never match them
+    private static int charAt(byte[] sample, int position, Charset charset) {
+        if (charset == StandardCharsets.UTF_16BE) {
+            return (sample[position] & 0xFF) << 8 | sample[position + 1] & 0xFF;
+        }
+        if (charset == StandardCharsets.UTF_16LE) {
+            return (sample[position + 1] & 0xFF) << 8 | sample[position] & 0xFF;
+        }
+        return sample[position] & 0xFF;
+    }
+
+    private static boolean hasPrefix(byte[] sample, int length, int... prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((sample[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
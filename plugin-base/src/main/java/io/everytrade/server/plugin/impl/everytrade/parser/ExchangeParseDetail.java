@@ -9,6 +9,7 @@ import lombok.NonNull;
 import lombok.Value;
 
 import java.util.List;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 @Value
@@ -22,7 +23,44 @@ public class ExchangeParseDetail {
     @NonNull
     Supplier<IExchangeSpecificParser> parserFactory;
 
+    /**
+     * Optional factory of parsers splitting large files among the given number of threads, the parsers are used only
+     * when the caller enables parallel parsing.
+     */
+    IntFunction<IExchangeSpecificParser> parallelParserFactory;
+
     @NonNull
     SupportedExchange supportedExchange;
+
+    @NonNull
+    @Builder.Default
+    Input input = Input.FILE;
+
+    /**
+     * False when several rows share a transaction uid, e.g. partial fills carrying the order id, such transactions are
+     * not deduplicated by the uid.
+     */
+    @Builder.Default
+    boolean uidUniquePerRow = true;
+
+    /**
+     * @param parallelism number of threads the caller lets parse a single file.
+     */
+    public IExchangeSpecificParser createParser(int parallelism) {
+        if (parallelism > 1 && parallelParserFactory != null) {
+            return parallelParserFactory.apply(parallelism);
+        }
+        return parserFactory.get();
+    }
+
+    public enum Input {
+        /** The parser reads the file itself. */
+        FILE,
+        /**
+         * The file is memory-mapped and passed to the parser as a {@link java.io.Reader}, a byte order mark selects
+         * the charset. Meant for univocity based parsers, other parsers copy the reader to a temporary file.
+         */
+        MEMORY_MAPPED
+    }
 }
 
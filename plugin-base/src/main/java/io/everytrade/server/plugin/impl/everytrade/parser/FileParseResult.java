@@ -0,0 +1,20 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import io.everytrade.server.plugin.api.parser.ParseResult;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.File;
+
+@Value
+public class FileParseResult {
+
+    @NonNull
+    File file;
+
+    /** Null if the file failed. */
+    ParseResult parseResult;
+
+    /** Exception of a file not parsed, e.g. one with an unknown header, null if parsed. */
+    RuntimeException failure;
+}
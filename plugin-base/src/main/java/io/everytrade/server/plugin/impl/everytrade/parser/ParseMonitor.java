@@ -0,0 +1,78 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import io.everytrade.server.plugin.api.parser.ParseListener;
+import io.everytrade.server.plugin.api.parser.ParseProgress;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Reports the progress of one parse to its {@link ParseListener} and stops the parse once cancelled. The clock is
+ * read every {@value #CLOCK_CHECK_ROWS} rows, the cancellation is checked after every row.
+ */
+final class ParseMonitor {
+    private static final int CLOCK_CHECK_ROWS = 256;
+
+    private final ParseListener parseListener;
+    private final LongSupplier bytesConsumed;
+    private final long progressIntervalNanos;
+    private long rowCount;
+    private long lastProgressNanos = System.nanoTime();
+    private boolean cancelled;
+
+    ParseMonitor(ParseListener parseListener, LongSupplier bytesConsumed) {
+        this.parseListener = Objects.requireNonNull(parseListener);
+        this.bytesConsumed = Objects.requireNonNull(bytesConsumed);
+        this.progressIntervalNanos = parseListener.getProgressInterval().toNanos();
+    }
+
+    /**
+     * Called by the parsing thread after every row.
+     * @throws CancelledException if the parse has been cancelled, it passes through the parser to the caller.
+     */
+    void afterRow(long transactionClusterCount, long parsingProblemCount) {
+        checkCancelled();
+        if (++rowCount % CLOCK_CHECK_ROWS == 0) {
+            final long now = System.nanoTime();
+            if (now - lastProgressNanos >= progressIntervalNanos) {
+                lastProgressNanos = now;
+                parseListener.progress(progress(transactionClusterCount, parsingProblemCount, false));
+            }
+        }
+    }
+
+    /**
+     * @throws CancelledException if the parse has been cancelled.
+     */
+    void checkCancelled() {
+        if (cancelled || parseListener.isCancelled()) {
+            cancelled = true;
+            throw new CancelledException();
+        }
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void done(long transactionClusterCount, long parsingProblemCount) {
+        parseListener.progress(progress(transactionClusterCount, parsingProblemCount, true));
+    }
+
+    private ParseProgress progress(long transactionClusterCount, long parsingProblemCount, boolean done) {
+        return new ParseProgress(
+            bytesConsumed.getAsLong(),
+            transactionClusterCount + parsingProblemCount,
+            transactionClusterCount,
+            parsingProblemCount,
+            done,
+            cancelled
+        );
+    }
+
+    static final class CancelledException extends RuntimeException {
+        private CancelledException() {
+            super("Parsing cancelled.", null, false, false);
+        }
+    }
+}
@@ -13,8 +13,10 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static lombok.AccessLevel.PRIVATE;
 
@@ -29,7 +31,38 @@ public class SkipLineParser implements IExchangeSpecificParser {
 
     @Override
     public List<? extends ExchangeBean> parse(File inputFile) {
-        return delegate.parse(skipLines(inputFile));
+        try (var reader = new BufferedReader(new FileReader(inputFile, StandardCharsets.UTF_8))) {
+            return parse(reader);
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+        }
+    }
+
+    @Override
+    public void parse(
+        File inputFile,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        try (var reader = new BufferedReader(new FileReader(inputFile, StandardCharsets.UTF_8))) {
+            parse(reader, beanConsumer, parsingProblemConsumer);
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+        }
+    }
+
+    @Override
+    public List<? extends ExchangeBean> parse(Reader reader) {
+        return delegate.parse(skipLines(reader));
+    }
+
+    @Override
+    public void parse(
+        Reader reader,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        delegate.parse(skipLines(reader), beanConsumer, parsingProblemConsumer);
     }
 
     @Override
@@ -37,22 +70,21 @@ public class SkipLineParser implements IExchangeSpecificParser {
         return delegate.getParsingProblems();
     }
 
-    private File skipLines(File file) {
-        File tempFile = new File(file.getAbsolutePath() + ".skipped");
-        try (
-            var bufferedReader = new BufferedReader(new FileReader(file));
-            var printWriter = new PrintWriter(tempFile)
-        ) {
+    @Override
+    public boolean isStreaming() {
+        return delegate.isStreaming();
+    }
+
+    private BufferedReader skipLines(Reader reader) {
+        final BufferedReader bufferedReader
+            = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        try {
             for (int i = 0; i < linesToSkip; i++) {
                 bufferedReader.readLine(); // skip line
             }
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                printWriter.println(line);
-            }
         } catch (IOException e) {
-            throw new ParsingProcessException("s");
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
         }
-        return tempFile;
+        return bufferedReader;
     }
 }
@@ -0,0 +1,58 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
+
+import com.univocity.parsers.annotations.Headers;
+import com.univocity.parsers.annotations.helpers.AnnotationHelper;
+import com.univocity.parsers.annotations.helpers.MethodFilter;
+import com.univocity.parsers.csv.CsvParserSettings;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CSV parser settings with the bean annotation configuration cached per bean class. Univocity scans the {@code @Headers}
+ * and {@code @Parsed} annotations of the bean for every parser created, which takes longer than parsing a small file.
+ * Columns must not be selected on these settings directly, the selection is derived from the bean class only.
+ */
+class BeanCsvParserSettings extends CsvParserSettings {
+    private static final Map<Class<?>, BeanConfiguration> CONFIGURATIONS = new ConcurrentHashMap<>();
+
+    @Override
+    protected void configureFromAnnotations(Class<?> beanClass) {
+        CONFIGURATIONS.computeIfAbsent(beanClass, BeanConfiguration::new).applyTo(this);
+    }
+
+    // derived by the same rules as CommonParserSettings.configureFromAnnotations
+    private static final class BeanConfiguration {
+        private final String[] headers;
+        private final boolean extractHeaders;
+        private final Integer[] selectedIndexes;
+        private final boolean selectHeaders;
+
+        private BeanConfiguration(Class<?> beanClass) {
+            final Headers headersAnnotation = AnnotationHelper.findHeadersAnnotation(beanClass);
+            final boolean allFieldsIndexBased = AnnotationHelper.allFieldsIndexBasedForParsing(beanClass);
+            headers = headersAnnotation == null ? new String[0] : headersAnnotation.sequence();
+            extractHeaders = headersAnnotation == null ? !allFieldsIndexBased : headersAnnotation.extract();
+            selectedIndexes = allFieldsIndexBased
+                ? AnnotationHelper.getSelectedIndexes(beanClass, MethodFilter.ONLY_SETTERS)
+                : null;
+            selectHeaders = !allFieldsIndexBased
+                && headers.length > 0
+                && AnnotationHelper.allFieldsNameBasedForParsing(beanClass);
+        }
+
+        private void applyTo(BeanCsvParserSettings settings) {
+            if (settings.headerExtractionEnabled == null) {
+                settings.setHeaderExtractionEnabled(extractHeaders);
+            }
+            if (settings.getHeaders() == null && headers.length > 0 && !settings.headerExtractionEnabled) {
+                settings.setHeaders(headers.clone());
+            }
+            if (selectedIndexes != null) {
+                settings.selectIndexes(selectedIndexes);
+            } else if (selectHeaders) {
+                settings.selectFields(headers);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
+
+/**
+ * Creates beans and calls their univocity {@code @Parsed} setters without reflection. Implementations named
+ * {@code <Bean>RowMapper} are generated next to the bean classes by the {@code BeanRowMapperProcessor} of the
+ * plugin-processor module, they are stateless and shared by all parsers of the bean.
+ */
+public interface BeanRowMapper<T extends ExchangeBean> {
+
+    T newBean();
+
+    /**
+     * @return member number of the annotated setter passed to {@link #set(ExchangeBean, int, Object)}, -1 if the
+     * setter is not mapped
+     */
+    int memberOf(String setterName);
+
+    void set(T bean, int member, Object value);
+}
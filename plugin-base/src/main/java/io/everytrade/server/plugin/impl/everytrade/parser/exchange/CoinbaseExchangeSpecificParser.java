@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class CoinbaseExchangeSpecificParser implements IExchangeSpecificParser {
     private static final String DELIMITER = ",";
@@ -25,14 +26,24 @@ public class CoinbaseExchangeSpecificParser implements IExchangeSpecificParser {
             = new DefaultUnivocityExchangeSpecificParser(CoinbaseBeanV1.class, DELIMITER);
         final List<? extends ExchangeBean> exchangeBeans = parser.parse(tempFile);
         parsingProblems = parser.getParsingProblems();
+        deleteTempFile(tempFile);
+        return exchangeBeans;
+    }
+
+    @Override
+    public void parse(
+        File inputFile,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        final File tempFile = generalizeHeader(inputFile);
+        final DefaultUnivocityExchangeSpecificParser parser
+            = new DefaultUnivocityExchangeSpecificParser(CoinbaseBeanV1.class, DELIMITER);
         try {
-            Files.delete(tempFile.toPath());
-        } catch (IOException e) {
-            throw new ParsingProcessException(String.format(
-                "Temp file '%s' cannot by deleted: %s", tempFile.getAbsolutePath(), e.getMessage())
-            );
+            parser.parse(tempFile, beanConsumer, parsingProblemConsumer);
+        } finally {
+            deleteTempFile(tempFile);
         }
-        return exchangeBeans;
     }
 
     @Override
@@ -40,6 +51,16 @@ public class CoinbaseExchangeSpecificParser implements IExchangeSpecificParser {
         return parsingProblems;
     }
 
+    private void deleteTempFile(File tempFile) {
+        try {
+            Files.delete(tempFile.toPath());
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format(
+                "Temp file '%s' cannot by deleted: %s", tempFile.getAbsolutePath(), e.getMessage())
+            );
+        }
+    }
+
     private File generalizeHeader(File file) {
         File tempFile = new File(file.getAbsolutePath() + ".tmp");
         try (
@@ -0,0 +1,135 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
+
+import lombok.Value;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Byte range of a CSV file which starts and ends on record boundaries.
+ */
+@Value
+class CsvFileChunk {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte QUOTE = '"';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    long start;
+    long end;
+    // position of the chunk start in lines, non-empty records and characters
+    long linesBefore;
+    long recordsBefore;
+    long charsBefore;
+
+    byte[] read(File file) throws IOException {
+        final byte[] bytes = new byte[Math.toIntExact(end - start)];
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            randomAccessFile.seek(start);
+            randomAccessFile.readFully(bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Splits the file into the header record followed by at most dataChunkCount data chunks of similar size. Line
+     * feeds inside quoted values do not end a record; a value is quoted when it starts, after optional spaces, with
+     * a quote, and '""' is an escaped quote inside it. Only the header chunk is returned for a file without data.
+     */
+    static List<CsvFileChunk> split(File file, byte delimiter, int dataChunkCount) throws IOException {
+        final long size = file.length();
+        final List<CsvFileChunk> chunks = new ArrayList<>(dataChunkCount + 1);
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long chunkStart = 0;
+        long chunkLinesBefore = 0;
+        long chunkRecordsBefore = 0;
+        long chunkCharsBefore = 0;
+        long dataStart = -1;
+        long nextBoundary = size;
+        long lines = 0;
+        long records = 0;
+        long chars = 0;
+        boolean emptyLine = true;
+        boolean inQuotes = false;
+        boolean quoteClosed = false;
+        boolean fieldStart = true;
+
+        try (InputStream inputStream = new FileInputStream(file)) {
+            long bufferStart = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    final byte b = buffer[i];
+                    if ((b & 0xC0) != 0x80) {
+                        chars += (b & 0xF8) == 0xF0 ? 2 : 1; // UTF-8 lead byte, surrogate pair for 4 bytes
+                    }
+                    if (b != LINE_FEED && b != CARRIAGE_RETURN) {
+                        emptyLine = false;
+                    }
+                    if (inQuotes) {
+                        if (b == QUOTE) {
+                            inQuotes = false;
+                            quoteClosed = true;
+                        } else if (b == LINE_FEED) {
+                            lines++;
+                        }
+                        continue;
+                    }
+                    if (quoteClosed && b == QUOTE) {
+                        inQuotes = true; // escaped quote
+                        quoteClosed = false;
+                        continue;
+                    }
+                    quoteClosed = false;
+                    if (b == QUOTE && fieldStart) {
+                        inQuotes = true;
+                        fieldStart = false;
+                    } else if (b == LINE_FEED) {
+                        lines++;
+                        records += emptyLine ? 0 : 1;
+                        emptyLine = true;
+                        fieldStart = true;
+                        final long recordEnd = bufferStart + i + 1;
+                        if (dataStart < 0) {
+                            dataStart = recordEnd;
+                            chunks.add(new CsvFileChunk(0, dataStart, 0, 0, 0));
+                        } else if (recordEnd >= nextBoundary && recordEnd < size) {
+                            chunks.add(new CsvFileChunk(
+                                chunkStart, recordEnd, chunkLinesBefore, chunkRecordsBefore, chunkCharsBefore
+                            ));
+                        } else {
+                            continue;
+                        }
+                        chunkStart = recordEnd;
+                        chunkLinesBefore = lines;
+                        chunkRecordsBefore = records;
+                        chunkCharsBefore = chars;
+                        nextBoundary = boundary(dataStart, size, chunks.size(), dataChunkCount);
+                    } else if (b == delimiter || b == CARRIAGE_RETURN) {
+                        fieldStart = true;
+                    } else if (b != ' ' && b != '\t') {
+                        fieldStart = false;
+                    }
+                }
+                bufferStart += read;
+            }
+        }
+        if (dataStart < 0) {
+            return List.of(new CsvFileChunk(0, size, 0, 0, 0));
+        }
+        if (chunkStart < size) {
+            chunks.add(new CsvFileChunk(chunkStart, size, chunkLinesBefore, chunkRecordsBefore, chunkCharsBefore));
+        }
+        return chunks;
+    }
+
+    // end offset the data chunk with the given 1-based number should reach
+    private static long boundary(long dataStart, long size, int chunkNumber, int dataChunkCount) {
+        return dataStart + (size - dataStart) * chunkNumber / dataChunkCount;
+    }
+}
@@ -1,27 +1,50 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
 
 import com.univocity.parsers.common.Context;
-import com.univocity.parsers.common.processor.BeanListProcessor;
+import com.univocity.parsers.common.ParsingContext;
 import com.univocity.parsers.csv.CsvParserSettings;
 import io.everytrade.server.plugin.api.parser.ParsingProblem;
 import io.everytrade.server.plugin.api.parser.ParsingProblemType;
 import io.everytrade.server.plugin.impl.everytrade.parser.exception.DataIgnoredException;
 import io.everytrade.server.plugin.impl.everytrade.parser.exception.ParsingProcessException;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class DefaultUnivocityExchangeSpecificParser implements IExchangeSpecificParser {
     private static final String DEFAUL_DELIMITER = ",";
+    // smaller files are parsed on a single thread even in parallel mode
+    private static final long MIN_PARALLEL_FILE_SIZE = 4L * 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    // shared by all parsers, so that concurrently parsed files do not multiply the threads
+    private static final ForkJoinPool CHUNK_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    // univocity allocates the input buffer for every file, files smaller than the default get a buffer sized to them
+    private static final int MIN_INPUT_BUFFER_SIZE = 8192;
+    private static final Pattern ERROR_POSITION
+        = Pattern.compile("line=(\\d+), column=(\\d+), record=(\\d+), charIndex=(\\d+)");
     private final Class<? extends ExchangeBean> exchangeBean;
     private final String delimiter;
     private final String lineSeparator;
+    private final int parallelism;
     private List<ParsingProblem> parsingProblems = List.of();
 
     public DefaultUnivocityExchangeSpecificParser(Class<? extends ExchangeBean> exchangeBean) {
@@ -39,17 +62,88 @@ public class DefaultUnivocityExchangeSpecificParser implements IExchangeSpecific
         Class<? extends ExchangeBean> exchangeBean,
         String delimiter,
         String lineSeparator
+    ) {
+        this(exchangeBean, delimiter, lineSeparator, 1);
+    }
+
+    /**
+     * @param parallelism number of chunks of a large file parsed concurrently, files are split into chunks on record
+     *                    boundaries and the chunks are parsed by a pool shared by all parsers. Beans and parsing
+     *                    problems are still delivered in source row order. Use only for beans which do not depend on
+     *                    other rows.
+     */
+    public DefaultUnivocityExchangeSpecificParser(
+        Class<? extends ExchangeBean> exchangeBean,
+        String delimiter,
+        String lineSeparator,
+        int parallelism
     ) {
         Objects.requireNonNull(this.exchangeBean = exchangeBean);
         Objects.requireNonNull(this.delimiter = delimiter);
         this.lineSeparator = lineSeparator;
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism has to be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
     }
 
     @Override
     public List<? extends ExchangeBean> parse(File inputFile) {
-        parsingProblems = new ArrayList<>();
-        final CsvParserSettings parserSettings = createParserSettings(parsingProblems);
-        return parse(inputFile, parserSettings, exchangeBean);
+        final List<ExchangeBean> beans = new ArrayList<>();
+        final List<ParsingProblem> problems = new ArrayList<>();
+        parse(inputFile, beans::add, problems::add);
+        parsingProblems = problems;
+        return beans;
+    }
+
+    @Override
+    public void parse(
+        File inputFile,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        if (isParallelParsingApplicable(inputFile)) {
+            parseInParallel(inputFile, beanConsumer, parsingProblemConsumer);
+            return;
+        }
+        parsingProblems = List.of();
+        final CsvParserSettings parserSettings = createParserSettings(parsingProblemConsumer);
+        final long fileSize = inputFile.length();
+        if (fileSize < parserSettings.getInputBufferSize()) {
+            // UTF-8 never decodes to more chars than bytes, the whole file is read into the buffer at once
+            parserSettings.setReadInputOnSeparateThread(false);
+            parserSettings.setInputBufferSize(Math.max(MIN_INPUT_BUFFER_SIZE, (int) fileSize));
+        }
+        try (Reader reader = new FileReader(inputFile, StandardCharsets.UTF_8)) {
+            parse(reader, parserSettings, exchangeBean, beanConsumer, 0);
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+        }
+    }
+
+    @Override
+    public List<? extends ExchangeBean> parse(Reader reader) {
+        final List<ExchangeBean> beans = new ArrayList<>();
+        final List<ParsingProblem> problems = new ArrayList<>();
+        parse(reader, beans::add, problems::add);
+        parsingProblems = problems;
+        return beans;
+    }
+
+    @Override
+    public void parse(
+        Reader reader,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        parsingProblems = List.of();
+        final CsvParserSettings parserSettings = createParserSettings(parsingProblemConsumer);
+        if (reader instanceof MappedFileReader) {
+            // decoding mapped memory is cheap, a separate reading thread would only add hand-off overhead
+            parserSettings.setReadInputOnSeparateThread(false);
+            parserSettings.setInputBufferSize(((MappedFileReader) reader).getBufferSize());
+        }
+        parse(reader, parserSettings, exchangeBean, beanConsumer, 0);
     }
 
     @Override
@@ -57,9 +151,20 @@ public class DefaultUnivocityExchangeSpecificParser implements IExchangeSpecific
         return parsingProblems;
     }
 
-    private <T extends ExchangeBean> List<T> parse(File file, CsvParserSettings parserSettings, Class<T> exchangeBean) {
-        try (Reader reader = new FileReader(file, StandardCharsets.UTF_8)) {
-            BeanListProcessor<T> rowProcessor = new BeanListProcessor<>(exchangeBean) {
+    @Override
+    public boolean isStreaming() {
+        return true;
+    }
+
+    private <T extends ExchangeBean> void parse(
+        Reader reader,
+        CsvParserSettings parserSettings,
+        Class<T> exchangeBean,
+        Consumer<? super ExchangeBean> beanConsumer,
+        long lineOffset
+    ) {
+        try {
+            MappedBeanProcessor<T> rowProcessor = new MappedBeanProcessor<>(exchangeBean) {
                 @Override
                 public T createBean(String[] row, Context context) {
                     T bean = super.createBean(row, context);
@@ -67,30 +172,141 @@ public class DefaultUnivocityExchangeSpecificParser implements IExchangeSpecific
                         return null;
                     }
                     bean.setRowValues(row);
-                    bean.setRowNumber(context.currentColumn());
+                    final long line = context instanceof ParsingContext
+                        ? ((ParsingContext) context).currentLine()
+                        : context.currentRecord();
+                    bean.setRowNumber(lineOffset + line);
                     return bean;
                 }
+
+                @Override
+                public void beanProcessed(T bean, ParsingContext context) {
+                    beanConsumer.accept(bean);
+                }
             };
             parserSettings.setProcessor(rowProcessor);
             com.univocity.parsers.csv.CsvParser parser = new com.univocity.parsers.csv.CsvParser(parserSettings);
             parser.parse(reader);
-            return rowProcessor.getBeans();
         } catch (Exception e) {
             throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
         }
     }
 
+    private boolean isParallelParsingApplicable(File inputFile) {
+        return parallelism > 1
+            && delimiter.length() == 1
+            && delimiter.charAt(0) < 0x80
+            && (lineSeparator == null || lineSeparator.endsWith("\n"))
+            && inputFile.length() >= MIN_PARALLEL_FILE_SIZE;
+    }
+
+    private void parseInParallel(
+        File inputFile,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        parsingProblems = List.of();
+        final List<CsvFileChunk> chunks;
+        final byte[] header;
+        try {
+            chunks = CsvFileChunk.split(inputFile, (byte) delimiter.charAt(0), parallelism * CHUNKS_PER_THREAD);
+            header = chunks.get(0).read(inputFile);
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+        }
+        if (chunks.size() < 3) {
+            try (Reader reader = new FileReader(inputFile, StandardCharsets.UTF_8)) {
+                parse(reader, beanConsumer, parsingProblemConsumer);
+            } catch (IOException e) {
+                throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+            }
+            return;
+        }
+        // at most parallelism chunks are parsed or waiting to be forwarded, the rest of the file is not read yet
+        final Deque<ForkJoinTask<ChunkResult>> tasks = new ArrayDeque<>();
+        final Iterator<CsvFileChunk> pendingChunks = chunks.subList(1, chunks.size()).iterator();
+        try {
+            while (pendingChunks.hasNext() || !tasks.isEmpty()) {
+                while (pendingChunks.hasNext() && tasks.size() < parallelism) {
+                    final CsvFileChunk chunk = pendingChunks.next();
+                    tasks.addLast(CHUNK_POOL.submit(() -> parseChunk(inputFile, header, chunk, chunks.get(1))));
+                }
+                final ChunkResult chunkResult = tasks.removeFirst().get();
+                chunkResult.beans.forEach(beanConsumer);
+                chunkResult.parsingProblems.forEach(parsingProblemConsumer);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParsingProcessException("Parsing interrupted.");
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+
+    // the header is parsed in front of every chunk, positions are shifted relative to the first data chunk
+    private ChunkResult parseChunk(File inputFile, byte[] header, CsvFileChunk chunk, CsvFileChunk firstChunk) {
+        final ChunkResult chunkResult = new ChunkResult();
+        final byte[] data;
+        try {
+            data = chunk.read(inputFile);
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+        }
+        final Reader reader = new InputStreamReader(
+            new SequenceInputStream(new ByteArrayInputStream(header), new ByteArrayInputStream(data)),
+            StandardCharsets.UTF_8
+        );
+        final long lineOffset = chunk.getLinesBefore() - firstChunk.getLinesBefore();
+        final long recordOffset = chunk.getRecordsBefore() - firstChunk.getRecordsBefore();
+        final long charOffset = chunk.getCharsBefore() - firstChunk.getCharsBefore();
+        final CsvParserSettings parserSettings = createParserSettings(problem -> chunkResult.parsingProblems.add(
+            new ParsingProblem(
+                problem.getRow(),
+                shiftErrorPosition(problem.getMessage(), lineOffset, recordOffset, charOffset),
+                problem.getParsingProblemType()
+            )
+        ));
+        parse(reader, parserSettings, exchangeBean, chunkResult.beans::add, lineOffset);
+        return chunkResult;
+    }
+
+    private static String shiftErrorPosition(String message, long lineOffset, long recordOffset, long charOffset) {
+        final Matcher matcher = message == null ? null : ERROR_POSITION.matcher(message);
+        if (matcher == null || !matcher.find()) {
+            return message;
+        }
+        return message.substring(0, matcher.start())
+            + String.format(
+                "line=%d, column=%s, record=%d, charIndex=%d",
+                Long.parseLong(matcher.group(1)) + lineOffset,
+                matcher.group(2),
+                Long.parseLong(matcher.group(3)) + recordOffset,
+                Long.parseLong(matcher.group(4)) + charOffset
+            )
+            + message.substring(matcher.end());
+    }
+
+    private static class ChunkResult {
+        private final List<ExchangeBean> beans = new ArrayList<>();
+        private final List<ParsingProblem> parsingProblems = new ArrayList<>();
+    }
+
     private CsvParserSettings createParserSettings(
-        List<ParsingProblem> parsingProblems
+        Consumer<ParsingProblem> parsingProblemConsumer
     ) {
-        CsvParserSettings parserSettings = new CsvParserSettings();
+        CsvParserSettings parserSettings = new BeanCsvParserSettings();
         parserSettings.setHeaderExtractionEnabled(true);
         parserSettings.setProcessorErrorHandler((error, inputRow, context) -> {
             ParsingProblemType parsingProblemType = error instanceof DataIgnoredException
                 ? ParsingProblemType.PARSED_ROW_IGNORED : ParsingProblemType.ROW_PARSING_FAILED;
             ParsingProblem parsingProblem
                 = new ParsingProblem(Arrays.toString(inputRow), error.getMessage(), parsingProblemType);
-            parsingProblems.add(parsingProblem);
+            parsingProblemConsumer.accept(parsingProblem);
         });
         parserSettings.getFormat().setDelimiter(delimiter);
         //default setting is autodetect
@@ -98,6 +314,7 @@ public class DefaultUnivocityExchangeSpecificParser implements IExchangeSpecific
             parserSettings.getFormat().setLineSeparator(lineSeparator);
         }
         parserSettings.getFormat().setComment('\0'); // No symbol for comments
+        parserSettings.setAutoClosingEnabled(false); // input is closed by its owner
 
         return parserSettings;
     }
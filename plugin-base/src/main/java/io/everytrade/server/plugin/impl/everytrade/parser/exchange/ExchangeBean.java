@@ -10,23 +10,29 @@ import io.everytrade.server.plugin.impl.everytrade.parser.exception.DataIgnoredE
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public abstract class ExchangeBean implements IImportableBean {
     public static final String UNSUPPORTED_CURRENCY_PAIR = "Unsupported currency pair ";
     public static final String UNSUPPORTED_TRANSACTION_TYPE = "Unsupported transaction type ";
     public static final String UNSUPPORTED_STATUS_TYPE = "Unsupported status type ";
-    public static final String IGNORED_CHARS_IN_NUMBER = "[,\\s\\$]";
     public static final String FEE_UID_PART = "-fee";
     public static final String REBATE_UID_PART = "-rebate";
     public static final String ILLEGAL_NEGATIVE_VALUES = "Illegal negative value(s) at index(es): ";
 
-    private List<String> rowValues;
+    private String[] rowValues;
     private long rowNumber;
 
     public void setRowValues(String[] row) {
-        rowValues = Arrays.asList(row);
+        rowValues = row;
+    }
+
+    /**
+     * Drops the raw row values once they are not needed for reporting a parsing problem, i.e. after the bean has been
+     * converted to a transaction cluster. {@link #rowToString()} reports the line number only afterwards.
+     */
+    public void releaseRowValues() {
+        rowValues = null;
     }
 
     public void setRowNumber(long rowNumber) {
@@ -34,8 +40,11 @@ public abstract class ExchangeBean implements IImportableBean {
     }
 
     public String rowToString() {
-        return "line="
-            .concat(String.valueOf(rowNumber))
+        final String line = "line=".concat(String.valueOf(rowNumber));
+        if (rowValues == null) {
+            return line;
+        }
+        return line
             .concat(", ")
             .concat(String.join(", ", rowValues));
     }
@@ -45,13 +54,11 @@ public abstract class ExchangeBean implements IImportableBean {
     }
 
     protected void validateCurrencyPair(Currency base, Currency quote) {
-        try {
-            var currencyPair = new CurrencyPair(base, quote);
-            if (!CurrencyPair.getTradeablePairs().contains(currencyPair)) {
-                throw new DataValidationException(UNSUPPORTED_CURRENCY_PAIR.concat(currencyPair.toString()));
-            }
-        } catch (CurrencyPair.FiatCryptoCombinationException | DataValidationException e) {
-            throw new DataValidationException(e.getMessage());
+        if (!CurrencyPair.isValidCombination(base, quote)) {
+            throw new DataValidationException(CurrencyPair.FiatCryptoCombinationException.createMessage(base, quote));
+        }
+        if (!CurrencyPair.isTradeable(base, quote)) {
+            throw new DataValidationException(UNSUPPORTED_CURRENCY_PAIR.concat(String.format("%s/%s", base, quote)));
         }
     }
 
@@ -88,21 +95,14 @@ public abstract class ExchangeBean implements IImportableBean {
     }
 
     protected TransactionType detectTransactionType(String value) {
-        TransactionType type;
-        try {
-            type =  TransactionType.valueOf(value.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new DataIgnoredException(UNSUPPORTED_TRANSACTION_TYPE.concat(value));
-        }
-        return type;
+        return TransactionType.tryFromName(value)
+            .orElseThrow(() -> new DataIgnoredException(UNSUPPORTED_TRANSACTION_TYPE.concat(value)));
     }
 
     private CurrencyPair findTradablePair(Currency baseCurrency, Currency quoteCurrency) {
-        try {
-            final CurrencyPair currencyPair = new CurrencyPair(baseCurrency, quoteCurrency);
-            return CurrencyPair.getTradeablePairs().contains(currencyPair) ? currencyPair : null;
-        } catch (CurrencyPair.FiatCryptoCombinationException e) {
-            return null;
-        }
+        // tradeable pairs never combine fiat base with crypto quote, so the constructor cannot throw here
+        return CurrencyPair.isTradeable(baseCurrency, quoteCurrency)
+            ? new CurrencyPair(baseCurrency, quoteCurrency)
+            : null;
     }
 }
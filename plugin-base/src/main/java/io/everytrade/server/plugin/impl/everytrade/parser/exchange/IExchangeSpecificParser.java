@@ -1,11 +1,104 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
 
 import io.everytrade.server.plugin.api.parser.ParsingProblem;
+import io.everytrade.server.plugin.impl.everytrade.parser.exception.ParsingProcessException;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IExchangeSpecificParser {
     List<? extends ExchangeBean> parse(File inputFile);
     List<ParsingProblem> getParsingProblems();
+
+    /**
+     * @return true if the streaming variants hand the beans over while reading, false if they read the whole input
+     * first, which is the default
+     */
+    default boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * Streaming variant of {@link #parse(File)}. Beans and parsing problems are handed over to the consumers as they are
+     * produced and are not retained by the parser, i.e. {@link #getParsingProblems()} does not report them.
+     * The default implementation parses the whole file first.
+     */
+    default void parse(
+        File inputFile,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        parse(inputFile).forEach(beanConsumer);
+        getParsingProblems().forEach(parsingProblemConsumer);
+    }
+
+    /**
+     * Parses CSV data read from the given reader, the reader is not closed. Parsing problems are reported by
+     * {@link #getParsingProblems()} as for {@link #parse(File)}.
+     */
+    default List<? extends ExchangeBean> parse(Reader reader) {
+        final Path tempFile = copyToTempFile(reader);
+        try {
+            return parse(tempFile.toFile());
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    /**
+     * Parses UTF-8 encoded CSV data read from the given stream, the stream is not closed.
+     */
+    default List<? extends ExchangeBean> parse(InputStream inputStream) {
+        return parse(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Streaming variant of {@link #parse(Reader)}, see {@link #parse(File, Consumer, Consumer)}.
+     * The default implementation copies the data to a temporary file for parsers working on files only.
+     */
+    default void parse(
+        Reader reader,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        final Path tempFile = copyToTempFile(reader);
+        try {
+            parse(tempFile.toFile(), beanConsumer, parsingProblemConsumer);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    private static Path copyToTempFile(Reader reader) {
+        try {
+            final Path tempFile = Files.createTempFile("exchange-parser", ".csv");
+            try (var writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                reader.transferTo(writer);
+            } catch (IOException | RuntimeException e) {
+                deleteTempFile(tempFile);
+                throw e;
+            }
+            return tempFile;
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format("Parsing error. %s", e.getMessage()));
+        }
+    }
+
+    private static void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            throw new ParsingProcessException(String.format(
+                "Temp file '%s' cannot by deleted: %s", tempFile.toAbsolutePath(), e.getMessage())
+            );
+        }
+    }
 }
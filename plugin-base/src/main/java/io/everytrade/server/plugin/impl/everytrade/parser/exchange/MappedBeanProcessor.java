@@ -0,0 +1,195 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
+
+import com.univocity.parsers.annotations.helpers.FieldMapping;
+import com.univocity.parsers.common.ArgumentUtils;
+import com.univocity.parsers.common.Context;
+import com.univocity.parsers.common.DataProcessingException;
+import com.univocity.parsers.common.NormalizedString;
+import com.univocity.parsers.common.processor.BeanProcessor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bean processor writing the converted values by the {@link BeanRowMapper} generated for the bean class instead of
+ * univocity reflection. Values are still converted by univocity and written to the setters in the order of
+ * {@code BeanConversionProcessor.mapValuesToFields}, so the beans and parsing problems do not change. Files missing
+ * the column of some annotated member are left to univocity, which writes default values of the missing members. A
+ * failing setter is reported by the same {@link DataProcessingException} univocity throws.
+ */
+abstract class MappedBeanProcessor<T extends ExchangeBean> extends BeanProcessor<T> {
+    private static final Map<Class<?>, Optional<BeanRowMapper<?>>> ROW_MAPPERS = new ConcurrentHashMap<>();
+    private static final String ROW_MAPPER_SUFFIX = "RowMapper";
+
+    private final BeanRowMapper<T> rowMapper;
+    private boolean bound;
+    private FieldMapping[] readOrder;
+    private int[] members;
+
+    MappedBeanProcessor(Class<T> beanClass) {
+        super(beanClass);
+        this.rowMapper = findRowMapper(beanClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends ExchangeBean> BeanRowMapper<T> findRowMapper(Class<T> beanClass) {
+        return (BeanRowMapper<T>) ROW_MAPPERS.computeIfAbsent(beanClass, MappedBeanProcessor::loadRowMapper)
+            .orElse(null);
+    }
+
+    private static Optional<BeanRowMapper<?>> loadRowMapper(Class<?> beanClass) {
+        try {
+            final Class<?> mapperClass = Class.forName(
+                beanClass.getName() + ROW_MAPPER_SUFFIX,
+                true,
+                beanClass.getClassLoader()
+            );
+            if (!BeanRowMapper.class.isAssignableFrom(mapperClass)) {
+                return Optional.empty();
+            }
+            return Optional.of((BeanRowMapper<?>) mapperClass.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public T createBean(String[] row, Context context) {
+        if (rowMapper == null || !bind(context)) {
+            return super.createBean(row, context);
+        }
+        final Object[] values = applyConversions(row, context);
+        if (values == null) {
+            return null;
+        }
+        final T bean = rowMapper.newBean();
+        final int last = Math.min(values.length, readOrder.length);
+        for (int i = 0; i < last; i++) {
+            if (readOrder[i] != null) {
+                write(bean, i, values[i]);
+            }
+        }
+        if (conversions != null) {
+            for (int i = last; i < readOrder.length; i++) {
+                if (readOrder[i] != null) {
+                    write(bean, i, conversions.applyConversions(i, null, null));
+                }
+            }
+        }
+        return bean;
+    }
+
+    // failures are reported like FieldMapping.write reports the failures of the setters it invokes
+    private void write(T bean, int position, Object value) {
+        try {
+            rowMapper.set(bean, members[position], value);
+        } catch (DataProcessingException e) {
+            e.markAsNonFatal();
+            e.setValue(value);
+            e.setDetails(writeFailureMessage(readOrder[position], value));
+            throw e;
+        } catch (RuntimeException e) {
+            final DataProcessingException exception
+                = new DataProcessingException(writeFailureMessage(readOrder[position], value), e);
+            exception.markAsNonFatal();
+            exception.setValue(value);
+            throw exception;
+        }
+    }
+
+    private static String writeFailureMessage(FieldMapping field, Object value) {
+        return value == null
+            ? "Unable to set value 'null' to " + field
+            : "Unable to set value '{value}' of type '" + value.getClass().getName() + "' to " + field;
+    }
+
+    // once per file on its first row
+    private boolean bind(Context context) {
+        if (!bound) {
+            bound = true;
+            readOrder = readOrder(context);
+            if (readOrder != null) {
+                members = new int[readOrder.length];
+                for (int i = 0; i < readOrder.length; i++) {
+                    members[i] = readOrder[i] == null ? -1 : memberOf(readOrder[i]);
+                    if (readOrder[i] != null && members[i] < 0) {
+                        readOrder = null;
+                        break;
+                    }
+                }
+            }
+        }
+        return readOrder != null;
+    }
+
+    private int memberOf(FieldMapping field) {
+        return field.getTarget() instanceof Method
+            ? rowMapper.memberOf(((Method) field.getTarget()).getName())
+            : -1;
+    }
+
+    // the row positions of BeanConversionProcessor.mapFieldIndexes, null if some member has no position
+    private FieldMapping[] readOrder(Context context) {
+        final NormalizedString[] headers = context.headers() == null
+            ? ArgumentUtils.EMPTY_NORMALIZED_STRING_ARRAY
+            : NormalizedString.toIdentifierGroupArray(context.headers());
+        int length = headers.length;
+        for (FieldMapping field : parsedFields) {
+            length = Math.max(length, field.getIndex() + 1);
+        }
+        FieldMapping[] order = new FieldMapping[length];
+        for (FieldMapping field : parsedFields) {
+            if (field.isMappedToField()) {
+                final int[] positions = ArgumentUtils.indexesOf(headers, field.getFieldName());
+                if (positions.length == 0) {
+                    return null;
+                }
+                for (int position : positions) {
+                    order[position] = field;
+                }
+            } else {
+                order[field.getIndex()] = field;
+            }
+        }
+        final int[] indexes = context.extractedFieldIndexes();
+        if (indexes != null) {
+            for (int i = 0; i < order.length; i++) {
+                if (!contains(indexes, i)) {
+                    order[i] = null;
+                }
+            }
+            if (context.columnsReordered()) {
+                final FieldMapping[] reordered = new FieldMapping[indexes.length];
+                for (int i = 0; i < indexes.length; i++) {
+                    if (indexes[i] >= order.length) {
+                        return null;
+                    }
+                    if (indexes[i] != -1) {
+                        reordered[i] = order[indexes[i]];
+                    }
+                }
+                order = reordered;
+            }
+        }
+        final List<FieldMapping> mapped = Arrays.asList(order);
+        for (FieldMapping field : parsedFields) {
+            if (!mapped.contains(field)) {
+                return null;
+            }
+        }
+        return order;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,161 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader decoding a memory-mapped file. A byte order mark selects the charset (UTF-8, UTF-16BE or UTF-16LE) and is
+ * not returned; files without it are decoded with the given default charset. Malformed input is replaced the same
+ * way as by {@link java.io.FileReader}.
+ */
+public final class MappedFileReader extends Reader {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    private static final long DEFAULT_REGION_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long regionSize;
+    private final int bufferSize;
+    private final CharsetDecoder decoder;
+    private final CharBuffer chars;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private boolean decoded;
+    private boolean endOfInput;
+    private boolean closed;
+
+    public MappedFileReader(File file) throws IOException {
+        this(file, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    public MappedFileReader(File file, Charset defaultCharset, int bufferSize) throws IOException {
+        this(file, defaultCharset, bufferSize, DEFAULT_REGION_SIZE);
+    }
+
+    // files larger than regionSize are mapped in consecutive regions
+    MappedFileReader(File file, Charset defaultCharset, int bufferSize, long regionSize) throws IOException {
+        if (bufferSize < 2) {
+            throw new IllegalArgumentException("Buffer size has to be at least 2 chars: " + bufferSize);
+        }
+        this.regionSize = regionSize;
+        this.bufferSize = bufferSize;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            this.region = map(0);
+            this.decoder = detectCharset(region, defaultCharset).newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.chars = CharBuffer.allocate(bufferSize);
+        this.chars.flip();
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return bytes of the file decoded so far, ahead of the chars read by at most the buffer size.
+     */
+    public long getBytesDecoded() {
+        return closed ? size : regionStart + region.position();
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Reader closed.");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        final int count = Math.min(length, chars.remaining());
+        chars.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            region = null; // unmapped when collected
+            channel.close();
+        }
+    }
+
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (chars.position() == 0 && !endOfInput) {
+            if (decoded) {
+                endOfInput = decoder.flush(chars).isUnderflow();
+                continue;
+            }
+            final boolean lastRegion = regionStart + region.limit() == size;
+            final CoderResult result = decoder.decode(region, chars, lastRegion);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isUnderflow()) {
+                if (lastRegion) {
+                    decoded = true;
+                } else {
+                    // an incomplete sequence at the region end is mapped again with the next region
+                    region = map(regionStart + region.position());
+                }
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    private MappedByteBuffer map(long position) throws IOException {
+        regionStart = position;
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(regionSize, size - position));
+    }
+
+    // skips the byte order mark
+    private static Charset detectCharset(MappedByteBuffer buffer, Charset defaultCharset) {
+        if (hasPrefix(buffer, 0xEF, 0xBB, 0xBF)) {
+            buffer.position(3);
+            return StandardCharsets.UTF_8;
+        }
+        if (hasPrefix(buffer, 0xFE, 0xFF)) {
+            buffer.position(2);
+            return StandardCharsets.UTF_16BE;
+        }
+        if (hasPrefix(buffer, 0xFF, 0xFE)) {
+            buffer.position(2);
+            return StandardCharsets.UTF_16LE;
+        }
+        return defaultCharset;
+    }
+
+    private static boolean hasPrefix(MappedByteBuffer buffer, int... prefix) {
+        if (buffer.limit() < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((buffer.get(i) & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
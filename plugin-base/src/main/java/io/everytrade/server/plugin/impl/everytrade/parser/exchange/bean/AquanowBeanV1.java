@@ -1,9 +1,9 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Format;
 import com.univocity.parsers.annotations.Headers;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import com.univocity.parsers.common.DataValidationException;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.CurrencyPair;
@@ -23,7 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static io.everytrade.server.model.CurrencyPair.getTradeablePairs;
+import static io.everytrade.server.model.CurrencyPair.tradeablePairs;
 import static java.util.Collections.emptyList;
 
 @Headers(
@@ -47,7 +47,7 @@ public class AquanowBeanV1  extends ExchangeBean {
 
     private static Map<String, CurrencyPair> fastCurrencyPair = new HashMap<>();
     static {
-        getTradeablePairs().forEach(t -> fastCurrencyPair.put(t.toString().replace("/", "-"), t));
+        tradeablePairs().forEach(t -> fastCurrencyPair.put(t.toString().replace("/", "-"), t));
     }
 
     @Parsed(field = "Trade date")
@@ -71,20 +71,20 @@ public class AquanowBeanV1  extends ExchangeBean {
         type = detectTransactionType(value);
     }
 
-    @Parsed(field = "Filled")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Filled", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setAmount(BigDecimal value) {
         amount = value;
     }
 
-    @Parsed(field = "Average Price")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Average Price", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setTotal(BigDecimal value) {
         price = value;
     }
 
-    @Parsed(field = "Fee")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Fee", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setFee(BigDecimal value) {
         fee = value;
     }
@@ -0,0 +1,105 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
+
+import com.univocity.parsers.common.DataValidationException;
+import com.univocity.parsers.conversions.Conversion;
+
+import java.math.BigDecimal;
+
+/**
+ * Converts numbers ignoring thousands separators (','), whitespace and currency symbols such as '$'. The value is
+ * scanned once and a decimal without an exponent and with at most 18 digits is built from an unscaled long, other
+ * values fall back to the {@link BigDecimal} string constructor. Results equal those of {@code new BigDecimal(value)}
+ * of the value without the ignored characters.
+ */
+public class BigDecimalConverter implements Conversion<String, BigDecimal> {
+    private static final int MAX_LONG_DIGITS = 18;
+
+    @Override
+    public BigDecimal execute(String input) {
+        return parse(input);
+    }
+
+    @Override
+    public String revert(BigDecimal input) {
+        return input == null ? null : input.toPlainString();
+    }
+
+    public static BigDecimal parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        final int length = value.length();
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        int ignored = 0;
+        boolean negative = false;
+        boolean signAllowed = true;
+        boolean fraction = false;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                scale += fraction ? 1 : 0;
+                signAllowed = false;
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+                signAllowed = false;
+            } else if ((c == '-' || c == '+') && signAllowed) {
+                negative = c == '-';
+                signAllowed = false;
+            } else if (isIgnored(c)) {
+                ignored++;
+            } else {
+                return parseSlow(value, ignored > 0 || hasIgnored(value, i));
+            }
+            if (digits > MAX_LONG_DIGITS) {
+                return parseSlow(value, ignored > 0 || hasIgnored(value, i + 1));
+            }
+        }
+        if (digits == 0) {
+            throw unparseable(value);
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    // exponents, long values and invalid input
+    private static BigDecimal parseSlow(String value, boolean containsIgnored) {
+        String number = value;
+        if (containsIgnored) {
+            final StringBuilder builder = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (!isIgnored(c)) {
+                    builder.append(c);
+                }
+            }
+            number = builder.toString();
+        }
+        try {
+            return new BigDecimal(number);
+        } catch (NumberFormatException e) {
+            throw unparseable(value);
+        }
+    }
+
+    private static boolean hasIgnored(String value, int from) {
+        for (int i = from; i < value.length(); i++) {
+            if (isIgnored(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ',', the whitespace of regex \s and currency symbols
+    private static boolean isIgnored(char c) {
+        return c == ',' || c == ' ' || (c >= '\t' && c <= '\r') || c == '$'
+            || (c > 0x7F && Character.getType(c) == Character.CURRENCY_SYMBOL);
+    }
+
+    private static DataValidationException unparseable(String value) {
+        return new DataValidationException(String.format("Unparseable number %s.", value));
+    }
+}
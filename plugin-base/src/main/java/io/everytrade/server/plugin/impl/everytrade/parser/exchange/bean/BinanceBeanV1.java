@@ -1,9 +1,9 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Format;
 import com.univocity.parsers.annotations.Headers;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import com.univocity.parsers.common.DataValidationException;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.CurrencyPair;
@@ -23,7 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static io.everytrade.server.model.CurrencyPair.getTradeablePairs;
+import static io.everytrade.server.model.CurrencyPair.tradeablePairs;
 
 //MIN> BIN-001:|^Date\(.*\)$|Market|Type|Amount|Total|Fee|Fee Coin|
 //FULL> BIN-001:|^Date\(.*\)$|Market|Type|Price|Amount|Total|Fee|Fee Coin|
@@ -40,7 +40,7 @@ public class BinanceBeanV1 extends ExchangeBean {
     private Currency feeCoin;
 
     static {
-        getTradeablePairs().forEach(t -> fastCurrencyPair.put(t.toString().replace("/", ""), t));
+        tradeablePairs().forEach(t -> fastCurrencyPair.put(t.toString().replace("/", ""), t));
     }
 
     //Date
@@ -65,31 +65,27 @@ public class BinanceBeanV1 extends ExchangeBean {
         type = detectTransactionType(value);
     }
 
-    @Parsed(field = "Amount")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Amount", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setAmount(BigDecimal value) {
         amount = value;
     }
 
-    @Parsed(field = "Total")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Total", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setTotal(BigDecimal value) {
         total = value;
     }
 
-    @Parsed(field = "Fee")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Fee", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setFee(BigDecimal value) {
         fee = value;
     }
 
     @Parsed(field = "Fee Coin")
     public void setFeeCurrency(String value) {
-        try {
-            feeCoin = Currency.fromCode(value);
-        } catch (IllegalArgumentException e) {
-            feeCoin = null;
-        }
+        feeCoin = Currency.tryFromCode(value).orElse(null);
     }
 
     @Override
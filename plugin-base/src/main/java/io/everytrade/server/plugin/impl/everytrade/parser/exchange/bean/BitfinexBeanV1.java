@@ -1,8 +1,8 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Headers;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import com.univocity.parsers.common.DataValidationException;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.TransactionType;
@@ -45,8 +45,8 @@ public class BitfinexBeanV1 extends ExchangeBean {
         pairQuote = Currency.fromCode(values[1]);
     }
 
-    @Parsed(field = "AMOUNT")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "AMOUNT", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setAmount(BigDecimal value) {
         if (value.compareTo(BigDecimal.ZERO) == 0) {
             throw new DataValidationException(ILLEGAL_ZERO_VALUE_OF_AMOUNT);
@@ -54,25 +54,21 @@ public class BitfinexBeanV1 extends ExchangeBean {
         amount = value;
     }
 
-    @Parsed(field = "PRICE")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "PRICE", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setPrice(BigDecimal value) {
         price = value;
     }
 
-    @Parsed(field = "FEE")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "FEE", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setFee(BigDecimal value) {
         fee = value;
     }
 
     @Parsed(field = "FEE CURRENCY")
     public void setFeeCurrency(String value) {
-        try {
-            feeCurrency = Currency.fromCode(value);
-        } catch (IllegalArgumentException e) {
-            feeCurrency = null;
-        }
+        feeCurrency = Currency.tryFromCode(value).orElse(null);
     }
 
     @Parsed(field = "DATE")
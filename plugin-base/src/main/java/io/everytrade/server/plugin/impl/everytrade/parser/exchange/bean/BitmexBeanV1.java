@@ -25,7 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static io.everytrade.server.model.CurrencyPair.getTradeablePairs;
+import static io.everytrade.server.model.CurrencyPair.tradeablePairs;
 
 @Headers(sequence = {"transactTime", "symbol", "execType", "side", "lastQty", "lastPx", "execComm", "orderID"},
     extract = true)
@@ -46,7 +46,7 @@ public class BitmexBeanV1 extends ExchangeBean {
 
     static {
         CURRENCIES.put("XBT", Currency.BTC);
-        getTradeablePairs().forEach(t -> TRADABLE_CURRENCY_PAIRS.put(t.toString().replace("/", ""), t));
+        tradeablePairs().forEach(t -> TRADABLE_CURRENCY_PAIRS.put(t.toString().replace("/", ""), t));
     }
 
     @Parsed(field = "transactTime")
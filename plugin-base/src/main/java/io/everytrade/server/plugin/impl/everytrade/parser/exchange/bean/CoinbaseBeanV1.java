@@ -1,7 +1,7 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import com.univocity.parsers.common.DataValidationException;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.TransactionType;
@@ -43,20 +43,20 @@ public class CoinbaseBeanV1 extends ExchangeBean {
         asset = Currency.fromCode(value);
     }
 
-    @Parsed(field = "Quantity Transacted")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Quantity Transacted", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setQuantityTransacted(BigDecimal value) {
         quantityTransacted = value;
     }
 
-    @Parsed(field = "Subtotal")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Subtotal", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setSubtotal(BigDecimal value) {
         subtotal = value;
     }
 
-    @Parsed(field = "Fees")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Fees", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setFees(BigDecimal value) {
         fees = value;
     }
@@ -104,14 +104,12 @@ public class CoinbaseBeanV1 extends ExchangeBean {
     }
 
     private Currency detectQuote(String note) {
-        try {
-            if (note != null) {
-                var lastSpace = note.lastIndexOf(" ");
-                if (lastSpace > -1) {
-                    return Currency.fromCode(note.substring(lastSpace + 1));
-                }
+        if (note != null) {
+            var lastSpace = note.lastIndexOf(" ");
+            if (lastSpace > -1) {
+                return Currency.tryFromCode(note.substring(lastSpace + 1))
+                    .orElseThrow(() -> new DataValidationException("Unsupported quote currency in 'Notes': " + note));
             }
-        } catch (Exception e) {
         }
         throw new DataValidationException("Unsupported quote currency in 'Notes': " + note);
     }
@@ -1,8 +1,8 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Headers;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import com.univocity.parsers.common.DataValidationException;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.TransactionType;
@@ -65,8 +65,8 @@ public class CoinbaseProBeanV1 extends ExchangeBean {
         createdAt = Instant.parse(value);
     }
 
-    @Parsed(field = "size")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "size", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setSize(BigDecimal value) {
         size = value;
     }
@@ -76,14 +76,14 @@ public class CoinbaseProBeanV1 extends ExchangeBean {
         sizeUnit = Currency.fromCode(value);
     }
 
-    @Parsed(field = "price")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "price", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setPrice(BigDecimal value) {
         price = value;
     }
 
-    @Parsed(field = "fee")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "fee", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setFee(BigDecimal value) {
         fee = value;
     }
@@ -1,9 +1,9 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Format;
 import com.univocity.parsers.annotations.Headers;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.TransactionType;
 import io.everytrade.server.plugin.api.parser.BuySellImportedTransactionBean;
@@ -45,14 +45,14 @@ public class CoinsquareBeanV1 extends ExchangeBean {
         baseCurrenncy = Currency.fromCode(value);
     }
 
-    @Parsed(field = "amount")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "amount", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setAmount(BigDecimal value) {
         amount = value;
     }
 
-    @Parsed(field = "base_amount")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "base_amount", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setBaseAmount(BigDecimal value) {
         baseAmount = value;
     }
@@ -1,9 +1,9 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Format;
 import com.univocity.parsers.annotations.Headers;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.TransactionType;
 import io.everytrade.server.plugin.api.parser.BuySellImportedTransactionBean;
@@ -34,8 +34,8 @@ public class CoinsquareBeanV2 extends ExchangeBean {
         fromCurrenncy = Currency.fromCode(value);
     }
 
-    @Parsed(field = "from_amount")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "from_amount", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setFromAmount(BigDecimal value)  {
         fromAmount = value;
     }
@@ -45,8 +45,8 @@ public class CoinsquareBeanV2 extends ExchangeBean {
         toCurrenncy = Currency.fromCode(value);
     }
 
-    @Parsed(field = "to_amount")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "to_amount", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setToAmount(BigDecimal value)  {
         toAmount = value;
     }
@@ -1,9 +1,9 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Headers;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.TransactionType;
 import io.everytrade.server.plugin.api.parser.BuySellImportedTransactionBean;
@@ -61,14 +61,14 @@ public class DVChainBeanV1 extends ExchangeBean {
         type = detectTransactionType(value);
     }
 
-    @Parsed(field = "quantity")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "quantity", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setAmount(BigDecimal value) {
         amount = value;
     }
 
-    @Parsed(field = "price")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "price", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setPrice(BigDecimal value) {
         price = value;
     }
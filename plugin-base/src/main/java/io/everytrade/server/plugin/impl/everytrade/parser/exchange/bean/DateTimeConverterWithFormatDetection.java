@@ -0,0 +1,38 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
+
+import com.univocity.parsers.common.DataValidationException;
+import com.univocity.parsers.conversions.Conversion;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Converts date-times of a format unknown in advance. Univocity creates a new conversion instance for every parsing
+ * process, so the format detected from the first rows of a file is reused for the rest of that file only.
+ */
+public class DateTimeConverterWithFormatDetection implements Conversion<String, Instant> {
+    private static final int SAMPLE_SIZE = 10;
+
+    private final DateTimeFormatFinder dateTimeFormatFinder = new DateTimeFormatFinder(SAMPLE_SIZE);
+
+    @Override
+    public Instant execute(String input) {
+        if (input == null) {
+            throw unknownFormat(null);
+        }
+        try {
+            return dateTimeFormatFinder.parse(input);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw unknownFormat(input);
+        }
+    }
+
+    @Override
+    public String revert(Instant input) {
+        return input == null ? null : input.toString();
+    }
+
+    private DataValidationException unknownFormat(String value) {
+        return new DataValidationException(String.format("Unknown dateTime format for value %s.", value));
+    }
+}
@@ -3,6 +3,8 @@ package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 import com.univocity.parsers.common.DataValidationException;
 import com.univocity.parsers.conversions.Conversion;
 
+import java.text.Format;
+import java.text.ParsePosition;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -10,16 +12,35 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
+/**
+ * Converts date-times matching one of the given patterns. By default exactly one pattern has to match every value. With
+ * {@link #FIRST_MATCH} as the first argument, e.g. {@code @Convert(args = {FIRST_MATCH, "yyyy-MM-dd HH:mm:ss"})}, the
+ * first matching pattern is used and the pattern which matched the previous value is tried first, meant for patterns
+ * which cannot match the same value.
+ */
 public class DateTimeConverterWithSecondsFraction implements Conversion<String, Instant> {
+    public static final String FIRST_MATCH = "firstMatch";
 
     private final List<DateTimeFormatter> dateTimeFormatters = new ArrayList<>();
+    private final List<Format> parseFormats = new ArrayList<>();
+    private final boolean strict;
+    private int lastMatchedIndex = 0;
 
-    public DateTimeConverterWithSecondsFraction(String... patterns) {
+    /**
+     * @param args patterns, optionally preceded by {@link #FIRST_MATCH}
+     */
+    public DateTimeConverterWithSecondsFraction(String... args) {
+        this(!isFirstMatch(args), isFirstMatch(args) ? Arrays.copyOfRange(args, 1, args.length) : args);
+    }
+
+    public DateTimeConverterWithSecondsFraction(boolean strict, String... patterns) {
         Objects.requireNonNull(patterns);
+        this.strict = strict;
         for (String pattern : patterns) {
             if (pattern.endsWith("s")) {
                 dateTimeFormatters.add(
@@ -36,29 +57,65 @@ public class DateTimeConverterWithSecondsFraction implements Conversion<String,
                 );
             }
         }
+        dateTimeFormatters.forEach(f -> parseFormats.add(f.toFormat(LocalDateTime::from)));
+    }
 
+    private static boolean isFirstMatch(String[] args) {
+        return args.length > 0 && FIRST_MATCH.equals(args[0]);
     }
 
     @Override
     public Instant execute(String input) {
-        Instant result = null;
-        int errorCounter = 0;
-        for (DateTimeFormatter dateTimeFormatter : dateTimeFormatters) {
-            try {
-                LocalDateTime localDateTime = LocalDateTime.parse(input, dateTimeFormatter);
-                result = localDateTime.toInstant(ZoneOffset.UTC);
-            } catch (Exception e) {
-                errorCounter++;
+        if (strict) {
+            return executeStrict(input);
+        }
+        final int formattersCount = dateTimeFormatters.size();
+        for (int i = 0; i < formattersCount; i++) {
+            final int index = (lastMatchedIndex + i) % formattersCount;
+            final LocalDateTime localDateTime = parseOrNull(parseFormats.get(index), input);
+            if (localDateTime != null) {
+                lastMatchedIndex = index;
+                return localDateTime.toInstant(ZoneOffset.UTC);
             }
         }
-        if (errorCounter + 1 != dateTimeFormatters.size()) {
-            throw new DataValidationException(String.format(
-                "Exactly one datetime pattern has to match for value '%s'. Found %d patterns.",
-                input,
-                dateTimeFormatters.size() - errorCounter
-            ));
+        throw new DataValidationException(String.format("No datetime pattern matches value '%s'.", input));
+    }
+
+    private Instant executeStrict(String input) {
+        LocalDateTime result = null;
+        int matchCounter = 0;
+        for (Format parseFormat : parseFormats) {
+            final LocalDateTime localDateTime = parseOrNull(parseFormat, input);
+            if (localDateTime != null) {
+                result = localDateTime;
+                matchCounter++;
+            }
         }
-        return result;
+        if (matchCounter != 1) {
+            throw matchingPatternsError(input, matchCounter);
+        }
+        return result.toInstant(ZoneOffset.UTC);
+    }
+
+    // the format reports a mismatch by the position instead of an exception and resolves the single parse result
+    private static LocalDateTime parseOrNull(Format parseFormat, String input) {
+        if (input == null) {
+            return null;
+        }
+        final ParsePosition position = new ParsePosition(0);
+        final Object result = parseFormat.parseObject(input, position);
+        if (result == null || position.getErrorIndex() >= 0 || position.getIndex() != input.length()) {
+            return null;
+        }
+        return (LocalDateTime) result;
+    }
+
+    private static DataValidationException matchingPatternsError(Object input, int matchCounter) {
+        return new DataValidationException(String.format(
+            "Exactly one datetime pattern has to match for value '%s'. Found %d patterns.",
+            input,
+            matchCounter
+        ));
     }
 
     @Override
@@ -75,11 +132,7 @@ public class DateTimeConverterWithSecondsFraction implements Conversion<String,
             }
         }
         if (errorCounter + 1 != dateTimeFormatters.size()) {
-            throw new DataValidationException(String.format(
-                "Exactly one datetime pattern has to match for value '%s'. Found %d patterns.",
-                input,
-                dateTimeFormatters.size() - errorCounter
-            ));
+            throw matchingPatternsError(input, dateTimeFormatters.size() - errorCounter);
         }
         return result;
     }
@@ -1,9 +1,66 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import io.everytrade.server.plugin.impl.everytrade.parser.ParserUtils;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class DateTimeFormatFinder {
+    private final int sampleSize;
+    private String samplePattern;
+    private int sampleCount;
+    private boolean samplesConsistent = true;
+    private String pinnedPattern;
+
+    /**
+     * Creates a finder detecting the format of every value separately.
+     */
+    public DateTimeFormatFinder() {
+        this(0);
+    }
+
+    /**
+     * Creates a finder detecting the format from the first {@code sampleSize} parsed values only. When all the samples
+     * share the same format, the format is pinned and the following values are parsed with it; values not matching
+     * the pinned format fall back to separate detection.
+     * @param sampleSize number of values used for format detection, 0 disables pinning
+     */
+    public DateTimeFormatFinder(int sampleSize) {
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException(String.format("Negative sample size %d.", sampleSize));
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    public Instant parse(String dateTime) {
+        if (pinnedPattern != null) {
+            try {
+                return ParserUtils.parse(pinnedPattern, dateTime);
+            } catch (DateTimeParseException ignored) {
+                // value in a different format, detect it separately
+            }
+        }
+        final String formatPattern = findFormatPattern(dateTime);
+        final Instant instant = ParserUtils.parse(formatPattern, dateTime);
+        addSample(formatPattern);
+        return instant;
+    }
+
+    private void addSample(String formatPattern) {
+        if (sampleCount >= sampleSize) {
+            return;
+        }
+        if (samplePattern == null) {
+            samplePattern = formatPattern;
+        } else if (!samplePattern.equals(formatPattern)) {
+            samplesConsistent = false;
+        }
+        if (++sampleCount == sampleSize && samplesConsistent) {
+            pinnedPattern = samplePattern;
+        }
+    }
 
     public String findFormatPattern(String dateTime) {
         final List<String> splitT = split(dateTime, "T", false);
@@ -15,11 +15,12 @@ import io.everytrade.server.plugin.impl.everytrade.parser.exchange.ExchangeBean;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Headers(sequence = {"txid", "pair", "time", "type", "cost", "fee", "vol"}, extract = true)
 public class KrakenBeanV1 extends ExchangeBean {
@@ -33,6 +34,10 @@ public class KrakenBeanV1 extends ExchangeBean {
     private BigDecimal vol;
     private static final Map<String, Currency> CURRENCY_SHORT_CODES = new HashMap<>();
     private static final Map<String, Currency> CURRENCY_LONG_CODES = new HashMap<>();
+    private static final int MAX_CODE_LENGTH;
+    // files repeat a handful of pair strings, decoded pairs are kept up to MAX_DECODED_PAIRS entries
+    private static final int MAX_DECODED_PAIRS = 1024;
+    private static final Map<String, DecodedPair> DECODED_PAIRS = new ConcurrentHashMap<>();
 
     static {
         CURRENCY_SHORT_CODES.put("XBT", Currency.BTC);
@@ -51,6 +56,14 @@ public class KrakenBeanV1 extends ExchangeBean {
                 CURRENCY_LONG_CODES.put("X" + value.code(), value);
             }
         }
+        int maxCodeLength = 0;
+        for (String code : CURRENCY_LONG_CODES.keySet()) {
+            maxCodeLength = Math.max(maxCodeLength, code.length());
+        }
+        for (String code : CURRENCY_SHORT_CODES.keySet()) {
+            maxCodeLength = Math.max(maxCodeLength, code.length());
+        }
+        MAX_CODE_LENGTH = maxCodeLength;
     }
 
     @Parsed(field = "txid")
@@ -60,20 +73,21 @@ public class KrakenBeanV1 extends ExchangeBean {
 
     @Parsed(field = "pair")
     public void setPair(String pair) {
-        String mBase = findCurrencyCode(pair, true);
-        String mQuote = findCurrencyCode(pair, false);
-        if (!pair.equals(mBase.concat(mQuote))) {
-            throw new DataValidationException(String.format("Can not parse pair %s.", pair));
+        DecodedPair decodedPair = DECODED_PAIRS.get(pair);
+        if (decodedPair == null) {
+            decodedPair = decodePair(pair);
+            if (DECODED_PAIRS.size() < MAX_DECODED_PAIRS) {
+                DECODED_PAIRS.putIfAbsent(pair, decodedPair);
+            }
         }
-
-        this.pairBase = findCurrencyByCode(mBase);
-        this.pairQuote = findCurrencyByCode(mQuote);
+        this.pairBase = decodedPair.base;
+        this.pairQuote = decodedPair.quote;
     }
 
     @Parsed(field = "time")
     @Convert(
         conversionClass=DateTimeConverterWithSecondsFraction.class,
-        args={"yyyy-MM-dd HH:mm:ss", "M/d/yy h:mm a"}
+        args={DateTimeConverterWithSecondsFraction.FIRST_MATCH, "yyyy-MM-dd HH:mm:ss", "M/d/yy h:mm a"}
         )
     public void setTime(Instant time) {
         this.time = time;
@@ -136,17 +150,18 @@ public class KrakenBeanV1 extends ExchangeBean {
         );
     }
 
-    private String findCurrencyCode(String pairCode, boolean isFindingBase) {
-        List<String> matchedShortCodes = CURRENCY_SHORT_CODES
-            .keySet()
-            .stream()
-            .filter(prefix -> isFindingBase ? pairCode.startsWith(prefix) : pairCode.endsWith(prefix))
-            .collect(Collectors.toList());
-        List<String> matchedLongCodes = CURRENCY_LONG_CODES
-            .keySet()
-            .stream()
-            .filter(prefix -> isFindingBase ? pairCode.startsWith(prefix) : pairCode.endsWith(prefix))
-            .collect(Collectors.toList());
+    private static DecodedPair decodePair(String pair) {
+        String mBase = findCurrencyCode(pair, true);
+        String mQuote = findCurrencyCode(pair, false);
+        if (!pair.equals(mBase.concat(mQuote))) {
+            throw new DataValidationException(String.format("Can not parse pair %s.", pair));
+        }
+        return new DecodedPair(findCurrencyByCode(mBase), findCurrencyByCode(mQuote));
+    }
+
+    private static String findCurrencyCode(String pairCode, boolean isFindingBase) {
+        List<String> matchedShortCodes = findMatchingCodes(CURRENCY_SHORT_CODES, pairCode, isFindingBase);
+        List<String> matchedLongCodes = findMatchingCodes(CURRENCY_LONG_CODES, pairCode, isFindingBase);
 
         final boolean foundBothCodes = matchedShortCodes.size() == 1 && matchedLongCodes.size() == 1;
         final boolean foundLongCode = matchedLongCodes.size() == 1 && matchedShortCodes.isEmpty();
@@ -185,7 +200,22 @@ public class KrakenBeanV1 extends ExchangeBean {
         ));
     }
 
-    private Currency findCurrencyByCode(String code) {
+    // probes every prefix (suffix) length instead of scanning all codes, matches are the same codes
+    private static List<String> findMatchingCodes(Map<String, Currency> codes, String pairCode, boolean isFindingBase) {
+        List<String> matchedCodes = new ArrayList<>(1);
+        int maxLength = Math.min(MAX_CODE_LENGTH, pairCode.length());
+        for (int length = 1; length <= maxLength; length++) {
+            String code = isFindingBase
+                ? pairCode.substring(0, length)
+                : pairCode.substring(pairCode.length() - length);
+            if (codes.containsKey(code)) {
+                matchedCodes.add(code);
+            }
+        }
+        return matchedCodes;
+    }
+
+    private static Currency findCurrencyByCode(String code) {
         final Currency currencyLong = CURRENCY_LONG_CODES.get(code);
         if (currencyLong != null) {
             return currencyLong;
@@ -197,4 +227,14 @@ public class KrakenBeanV1 extends ExchangeBean {
 
         throw new IllegalStateException(String.format("Currency not found for code %s.", code));
     }
+
+    private static class DecodedPair {
+        private final Currency base;
+        private final Currency quote;
+
+        private DecodedPair(Currency base, Currency quote) {
+            this.base = base;
+            this.quote = quote;
+        }
+    }
 }
@@ -49,8 +49,8 @@ public class OkexBeanV1 extends ExchangeBean {
     @Parsed(field = "\uFEFFPairs")
     public void setSymbol(String value) {
         final String[] pair = value.split("_");
-        pairsBase = Currency.fromCode(pair[0].toUpperCase());
-        pairsQuote = Currency.fromCode(pair[1].toUpperCase());
+        pairsBase = Currency.fromCodeIgnoreCase(pair[0]);
+        pairsQuote = Currency.fromCodeIgnoreCase(pair[1]);
     }
 
     @Parsed(field = "\uFEFFAmount", defaultNullRead = "0")
@@ -73,7 +73,7 @@ public class OkexBeanV1 extends ExchangeBean {
     public void setFee(String value) {
         final String[] split = value.split(" ");
         fee = new BigDecimal(split[0]);
-        feeCurrency = Currency.fromCode(split[1].toUpperCase());
+        feeCurrency = Currency.fromCodeIgnoreCase(split[1]);
     }
 
     @Parsed(field = "\uFEFFunit\r")
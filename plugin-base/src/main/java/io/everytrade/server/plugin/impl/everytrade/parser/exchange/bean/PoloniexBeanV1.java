@@ -1,9 +1,9 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Format;
 import com.univocity.parsers.annotations.Headers;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import com.univocity.parsers.common.DataValidationException;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.TransactionType;
@@ -55,14 +55,14 @@ public class PoloniexBeanV1 extends ExchangeBean {
         type = detectTransactionType(value);
     }
 
-    @Parsed(field = "Base Total Less Fee")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Base Total Less Fee", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setBaseTotalLessFee(BigDecimal value) {
         baseTotalLessFee = value;
     }
 
-    @Parsed(field = "Quote Total Less Fee")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Quote Total Less Fee", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setQuoteTotalLessFee(BigDecimal value) {
         quoteTotalLessFee = value;
     }
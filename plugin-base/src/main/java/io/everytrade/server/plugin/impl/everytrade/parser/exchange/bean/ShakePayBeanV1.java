@@ -1,8 +1,8 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
 import com.univocity.parsers.annotations.Headers;
 import com.univocity.parsers.annotations.Parsed;
-import com.univocity.parsers.annotations.Replace;
 import com.univocity.parsers.common.DataValidationException;
 import io.everytrade.server.model.Currency;
 import io.everytrade.server.model.TransactionType;
@@ -48,8 +48,8 @@ public class ShakePayBeanV1 extends ExchangeBean {
         this.date = localDateTime.toInstant(ZoneOffset.UTC);
     }
 
-    @Parsed(field = "Amount Debited")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Amount Debited", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setAmountDebited(BigDecimal amountDebited) {
         this.amountDebited = amountDebited;
     }
@@ -59,8 +59,8 @@ public class ShakePayBeanV1 extends ExchangeBean {
         this.debitCurrency = Currency.fromCode(debitCurrency);
     }
 
-    @Parsed(field = "Amount Credited")
-    @Replace(expression = IGNORED_CHARS_IN_NUMBER, replacement = "")
+    @Parsed(field = "Amount Credited", applyDefaultConversion = false)
+    @Convert(conversionClass = BigDecimalConverter.class)
     public void setAmountCredited(BigDecimal amountCredited) {
         this.amountCredited = amountCredited;
     }
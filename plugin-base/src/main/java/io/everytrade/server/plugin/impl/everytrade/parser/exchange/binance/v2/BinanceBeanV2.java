@@ -12,6 +12,7 @@ import io.everytrade.server.plugin.api.parser.TransactionCluster;
 import io.everytrade.server.plugin.impl.everytrade.parser.ParserUtils;
 import io.everytrade.server.plugin.impl.everytrade.parser.exception.DataIgnoredException;
 import io.everytrade.server.plugin.impl.everytrade.parser.exchange.ExchangeBean;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.BigDecimalConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,7 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static io.everytrade.server.model.CurrencyPair.getTradeablePairs;
+import static io.everytrade.server.model.CurrencyPair.tradeablePairs;
 
 @Headers(sequence = {"Pair", "Type", "Filled", "Total", "Fee", "status"}, extract = true)
 public class BinanceBeanV2 extends ExchangeBean {
@@ -43,7 +44,7 @@ public class BinanceBeanV2 extends ExchangeBean {
     private Currency feeCurrency;
 
     static {
-        getTradeablePairs().forEach(t -> fastCurrencyPair.put(
+        tradeablePairs().forEach(t -> fastCurrencyPair.put(
             String.format("%s%s", t.getBase().code(), t.getQuote().code()), t)
         );
     }
@@ -68,8 +69,8 @@ public class BinanceBeanV2 extends ExchangeBean {
         pairBase = currencyPair.getBase();
         pairQuote = currencyPair.getQuote();
         this.type = detectTransactionType(type);
-        this.filled = new BigDecimal(filled.replaceAll(IGNORED_CHARS_IN_NUMBER, ""));
-        this.total = new BigDecimal(total.replaceAll(IGNORED_CHARS_IN_NUMBER, ""));
+        this.filled = BigDecimalConverter.parse(filled);
+        this.total = BigDecimalConverter.parse(total);
         feeCurrency = findEnds(fee);
         if (feeCurrency != null) {
             final String feeValue = fee.replaceAll("[A-Z,\\s$]", "");
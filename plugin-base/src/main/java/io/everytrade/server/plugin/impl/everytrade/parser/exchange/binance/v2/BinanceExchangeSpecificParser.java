@@ -20,7 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -47,37 +47,72 @@ public class BinanceExchangeSpecificParser implements IExchangeSpecificParser {
     public List<? extends ExchangeBean> parse(
         File inputFile
     ) {
-        parsingProblems = new ArrayList<>();
+        final List<ParsingProblem> problems = new ArrayList<>();
         final List<BinanceBeanV2> binanceBeans = new ArrayList<>();
+        parse(inputFile, bean -> binanceBeans.add((BinanceBeanV2) bean), problems::add);
+        parsingProblems = problems;
+        return binanceBeans;
+    }
+
+    @Override
+    public void parse(
+        File inputFile,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
         try (Reader reader = new FileReader(inputFile, StandardCharsets.UTF_8)) {
-            final CsvParserSettings csvParserSettings = new CsvParserSettings();
-            csvParserSettings.getFormat().setDelimiter(delimiter);
-            csvParserSettings.setHeaderExtractionEnabled(false);
-            CsvParser parser = new CsvParser(csvParserSettings);
-            List<Record> allRecords = parser.parseAllRecords(reader);
-            Map<Level2Header, Integer> level2HeaderIndexes = null;
-            Map<Level1Header, Integer> level1HeaderIndexes = null;
+            parse(reader, beanConsumer, parsingProblemConsumer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public List<? extends ExchangeBean> parse(Reader reader) {
+        final List<ParsingProblem> problems = new ArrayList<>();
+        final List<BinanceBeanV2> binanceBeans = new ArrayList<>();
+        parse(reader, bean -> binanceBeans.add((BinanceBeanV2) bean), problems::add);
+        parsingProblems = problems;
+        return binanceBeans;
+    }
+
+    @Override
+    public void parse(
+        Reader reader,
+        Consumer<? super ExchangeBean> beanConsumer,
+        Consumer<ParsingProblem> parsingProblemConsumer
+    ) {
+        parsingProblems = List.of();
+        final CsvParserSettings csvParserSettings = new CsvParserSettings();
+        csvParserSettings.getFormat().setDelimiter(delimiter);
+        csvParserSettings.setHeaderExtractionEnabled(false);
+        csvParserSettings.setAutoClosingEnabled(false);
+        CsvParser parser = new CsvParser(csvParserSettings);
+        parser.beginParsing(reader);
+        try {
+            int[] level2HeaderIndexes = null;
+            int[] level1HeaderIndexes = null;
             String columnValuePair = null;
             String columnValueType = null;
             String columnValueStatus = null;
             RowType rowType = RowType.HEADER;
 
-            for (int i = 0; i < allRecords.size(); i++) {
-                final Record record = allRecords.get(i);
+            Record record;
+            while ((record = parser.parseNextRecord()) != null) {
                 final String[] columnValues = record.getValues();
-                if (i == 0) {
+                if (level1HeaderIndexes == null) {
                     level1HeaderIndexes = createIndexesLevel1(columnValues);
                     continue;
                 }
 
-                final String columnValueDate = columnValues[level1HeaderIndexes.get(Level1Header.DATE)];
+                final String columnValueDate = columnValues[level1HeaderIndexes[Level1Header.DATE.ordinal()]];
                 rowType = evalRowType(rowType, columnValueDate);
 
                 switch (rowType) {
                     case GROUP:
-                        columnValuePair = columnValues[level1HeaderIndexes.get(Level1Header.PAIR)];
-                        columnValueType = columnValues[level1HeaderIndexes.get(Level1Header.TYPE)];
-                        columnValueStatus = columnValues[level1HeaderIndexes.get(Level1Header.STATUS)];
+                        columnValuePair = columnValues[level1HeaderIndexes[Level1Header.PAIR.ordinal()]];
+                        columnValueType = columnValues[level1HeaderIndexes[Level1Header.TYPE.ordinal()]];
+                        columnValueStatus = columnValues[level1HeaderIndexes[Level1Header.STATUS.ordinal()]];
                         break;
 
                     case GROUP_HEADER:
@@ -89,13 +124,13 @@ public class BinanceExchangeSpecificParser implements IExchangeSpecificParser {
                         if (level2HeaderIndexes == null) {
                             throw new ParsingProcessException("Unknown file structure. Unexpected row type " + rowType);
                         }
-                        final String columnValueDateL2 = columnValues[level2HeaderIndexes.get(Level2Header.DATE)];
-                        final String columnValueFilled = columnValues[level2HeaderIndexes.get(Level2Header.FILLED)];
-                        final String columnValueTotal = columnValues[level2HeaderIndexes.get(Level2Header.TOTAL)];
-                        final String columnValueFee = columnValues[level2HeaderIndexes.get(Level2Header.FEE)];
+                        final String columnValueDateL2 = columnValues[level2HeaderIndexes[Level2Header.DATE.ordinal()]];
+                        final String columnValueFilled = columnValues[level2HeaderIndexes[Level2Header.FILLED.ordinal()]];
+                        final String columnValueTotal = columnValues[level2HeaderIndexes[Level2Header.TOTAL.ordinal()]];
+                        final String columnValueFee = columnValues[level2HeaderIndexes[Level2Header.FEE.ordinal()]];
                         createExchangeBean(
-                            parsingProblems,
-                            binanceBeans,
+                            parsingProblemConsumer,
+                            beanConsumer,
                             columnValueDateL2,
                             columnValuePair,
                             columnValueType,
@@ -110,10 +145,9 @@ public class BinanceExchangeSpecificParser implements IExchangeSpecificParser {
                         throw new ParsingProcessException("Unknown file structure - unexpected row type " + rowType);
                 }
             }
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
+        } finally {
+            parser.stopParsing();
         }
-        return binanceBeans;
     }
 
     @Override
@@ -121,9 +155,14 @@ public class BinanceExchangeSpecificParser implements IExchangeSpecificParser {
         return parsingProblems;
     }
 
+    @Override
+    public boolean isStreaming() {
+        return true;
+    }
+
     private void createExchangeBean(
-        List<ParsingProblem> parsingProblems,
-        List<BinanceBeanV2> binanceBeans,
+        Consumer<ParsingProblem> parsingProblemConsumer,
+        Consumer<? super ExchangeBean> beanConsumer,
         String columnValueDateL2,
         String columnValuePair,
         String columnValueType,
@@ -132,44 +171,40 @@ public class BinanceExchangeSpecificParser implements IExchangeSpecificParser {
         String columnValueFee,
         String columnValueStatus
     ) {
-        final String row = String.format(
-            "%s,%s,%s,%s,%s,%s,%s",
-            columnValueDateL2,
-            columnValuePair,
-            columnValueType,
-            columnValueFilled,
-            columnValueTotal,
-            columnValueFee,
-            columnValueStatus
-        );
+        final BinanceBeanV2 binanceBean;
         try {
-            binanceBeans.add(
-                new BinanceBeanV2(
-                    columnValueDateL2,
-                    columnValuePair,
-                    columnValueType,
-                    columnValueFilled,
-                    columnValueTotal,
-                    columnValueFee,
-                    columnValueStatus
-                ));
-        } catch (DataIgnoredException e) {
-            parsingProblems.add(
-                new ParsingProblem(
-                    row,
-                    e.getMessage(),
-                    ParsingProblemType.PARSED_ROW_IGNORED
-                )
+            binanceBean = new BinanceBeanV2(
+                columnValueDateL2,
+                columnValuePair,
+                columnValueType,
+                columnValueFilled,
+                columnValueTotal,
+                columnValueFee,
+                columnValueStatus
             );
         } catch (Exception e) {
-            parsingProblems.add(
+            final String row = String.format(
+                "%s,%s,%s,%s,%s,%s,%s",
+                columnValueDateL2,
+                columnValuePair,
+                columnValueType,
+                columnValueFilled,
+                columnValueTotal,
+                columnValueFee,
+                columnValueStatus
+            );
+            parsingProblemConsumer.accept(
                 new ParsingProblem(
                     row,
                     e.getMessage(),
-                    ParsingProblemType.ROW_PARSING_FAILED
+                    e instanceof DataIgnoredException
+                        ? ParsingProblemType.PARSED_ROW_IGNORED
+                        : ParsingProblemType.ROW_PARSING_FAILED
                 )
             );
+            return;
         }
+        beanConsumer.accept(binanceBean);
     }
 
     private RowType evalRowType(RowType rowType, String columnValueDate) {
@@ -213,26 +248,27 @@ public class BinanceExchangeSpecificParser implements IExchangeSpecificParser {
         }
     }
 
-    private Map<Level1Header, Integer> createIndexesLevel1(String[] columnValues) {
-        final Map<Level1Header, Integer> indexes = new TreeMap<>();
+    private int[] createIndexesLevel1(String[] columnValues) {
+        final int[] indexes = new int[Level1Header.values().length];
+        Arrays.fill(indexes, -1);
         for (int i = 0; i < columnValues.length; i++) {
             final Level1Header header = Level1Header.get(columnValues[i]);
             if (header != null) {
-                indexes.put(header, i);
+                indexes[header.ordinal()] = i;
             }
         }
         return indexes;
     }
 
-    private Map<Level2Header, Integer> createIndexesLevel2(String[] columnValues) {
-        final Map<Level2Header, Integer> indexes = new TreeMap<>();
+    private int[] createIndexesLevel2(String[] columnValues) {
+        final int[] indexes = new int[Level2Header.values().length];
+        Arrays.fill(indexes, -1);
         for (int i = 0; i < columnValues.length; i++) {
             final Level2Header header = Level2Header.get(columnValues[i]);
             if (header != null) {
-                indexes.put(header, i);
+                indexes[header.ordinal()] = i;
             }
         }
         return indexes;
     }
 }
-
@@ -19,7 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static io.everytrade.server.model.CurrencyPair.getTradeablePairs;
+import static io.everytrade.server.model.CurrencyPair.tradeablePairs;
 import static java.util.Collections.emptyList;
 
 public class BinanceBeanV3 extends ExchangeBean {
@@ -36,7 +36,7 @@ public class BinanceBeanV3 extends ExchangeBean {
     private Currency feeCurrency;
 
     static {
-        getTradeablePairs().forEach(t -> fastCurrencyPair.put(
+        tradeablePairs().forEach(t -> fastCurrencyPair.put(
             String.format("%s%s", t.getBase().code(), t.getQuote().code()), t)
         );
     }
@@ -8,6 +8,7 @@ import io.everytrade.server.plugin.api.connector.ConnectorParameterDescriptor;
 import io.everytrade.server.plugin.api.connector.ConnectorParameterType;
 import io.everytrade.server.plugin.api.connector.DownloadResult;
 import io.everytrade.server.plugin.api.connector.IConnector;
+import io.everytrade.server.plugin.api.parser.ImportSession;
 import io.everytrade.server.plugin.api.parser.ParseResult;
 import io.everytrade.server.plugin.api.parser.ParsingProblem;
 import io.everytrade.server.plugin.api.parser.ParsingProblemType;
@@ -108,24 +109,28 @@ public class GbConnector implements IConnector {
 
         long transactionCount = 0;
         String lastDownloadedTxUid = lastTransactionId;
-        for (GbApiTransactionBean transaction : transactions) {
-            try {
-                if (transaction.isImportable()) {
-                    final TransactionCluster cluster = transaction.toTransactionCluster();
-                    importedClusters.add(cluster);
-                    transactionCount += 1 + cluster.getRelated().size();
-                    lastDownloadedTxUid = transaction.getUid();
-                } else if (transaction.isIgnored()) {
+        try (ImportSession ignored = ImportSession.open()) {
+            for (GbApiTransactionBean transaction : transactions) {
+                try {
+                    if (transaction.isImportable()) {
+                        final TransactionCluster cluster = transaction.toTransactionCluster();
+                        importedClusters.add(cluster);
+                        transactionCount += 1 + cluster.getRelated().size();
+                        lastDownloadedTxUid = transaction.getUid();
+                    } else if (transaction.isIgnored()) {
+                        parsingProblems.add(
+                            new ParsingProblem(transaction.toString(), transaction.getIgnoreReason(), ParsingProblemType.PARSED_ROW_IGNORED)
+                        );
+                    }
+                } catch (Exception e) {
+                    log.error("Error converting to ImportedTransactionBean: {}", e.getMessage());
+                    log.debug("Exception by converting to ImportedTransactionBean.", e);
                     parsingProblems.add(
-                        new ParsingProblem(transaction.toString(), transaction.getIgnoreReason(), ParsingProblemType.PARSED_ROW_IGNORED)
+                        new ParsingProblem(
+                            transaction.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED
+                        )
                     );
                 }
-            } catch (Exception e) {
-                log.error("Error converting to ImportedTransactionBean: {}", e.getMessage());
-                log.debug("Exception by converting to ImportedTransactionBean.", e);
-                parsingProblems.add(
-                    new ParsingProblem(transaction.toString(), e.getMessage(), ParsingProblemType.ROW_PARSING_FAILED)
-                );
             }
         }
         log.info(
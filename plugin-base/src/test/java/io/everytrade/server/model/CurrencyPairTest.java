@@ -0,0 +1,86 @@
+package io.everytrade.server.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CurrencyPairTest {
+
+    @Test
+    public void testIsTradeableMatchesTradeablePairs() {
+        var expected = legacyTradeablePairs();
+        assertEquals(expected, new HashSet<>(CurrencyPair.tradeablePairs()));
+        assertEquals(expected.size(), CurrencyPair.tradeablePairs().size());
+        for (Currency base : Currency.values()) {
+            for (Currency quote : Currency.values()) {
+                boolean listed = CurrencyPair.isValidCombination(base, quote)
+                    && expected.contains(new CurrencyPair(base, quote));
+                assertEquals(listed, CurrencyPair.isTradeable(base, quote), base + "/" + quote);
+            }
+        }
+    }
+
+    // the computation getTradeablePairs used before the pair index
+    private static Set<CurrencyPair> legacyTradeablePairs() {
+        var allowedCryptoQuotes = Set.of(Currency.USDT, Currency.BTC, Currency.ETH, Currency.BNB);
+        var unsupportedCryptoPairs = Set.of(
+            Currency.USDT + "/" + Currency.BTC, Currency.USDT + "/" + Currency.ETH, Currency.USDT + "/" + Currency.BNB,
+            Currency.BTC + "/" + Currency.ETH, Currency.BTC + "/" + Currency.BNB, Currency.ETH + "/" + Currency.BNB
+        );
+        Set<CurrencyPair> currencyPairs = new HashSet<>();
+        for (Currency base : Currency.values()) {
+            for (Currency quote : Currency.values()) {
+                var quoteIsAllowed = quote.isFiat() || allowedCryptoQuotes.contains(quote);
+                var isUnsupportedCryptoPair = unsupportedCryptoPairs.contains(base + "/" + quote);
+                if ((!base.isFiat() && quoteIsAllowed && !isUnsupportedCryptoPair) || (base == quote)) {
+                    currencyPairs.add(new CurrencyPair(base, quote));
+                }
+            }
+        }
+        currencyPairs.addAll(CurrencyPair.getSupportedFiatPairs());
+        return currencyPairs;
+    }
+
+    @Test
+    public void testTradeablePairs() {
+        assertTrue(CurrencyPair.isTradeable(Currency.BTC, Currency.USD));
+        assertTrue(CurrencyPair.isTradeable(Currency.LTC, Currency.BTC));
+        assertTrue(CurrencyPair.isTradeable(Currency.EUR, Currency.USD));
+        assertTrue(CurrencyPair.isTradeable(Currency.USD, Currency.USD));
+        assertFalse(CurrencyPair.isTradeable(Currency.USD, Currency.BTC));
+        assertFalse(CurrencyPair.isTradeable(Currency.BTC, Currency.ETH));
+        assertFalse(CurrencyPair.isTradeable(Currency.USD, Currency.EUR));
+    }
+
+    @Test
+    public void testTradeablePairsIsCachedAndUnmodifiable() {
+        List<CurrencyPair> pairs = CurrencyPair.tradeablePairs();
+        assertSame(pairs, CurrencyPair.tradeablePairs());
+        assertThrows(UnsupportedOperationException.class, () -> pairs.add(new CurrencyPair(Currency.BTC, Currency.USD)));
+        assertEquals(pairs, CurrencyPair.getTradeablePairs());
+    }
+
+    @Test
+    public void testIsValidCombination() {
+        for (Currency base : Currency.values()) {
+            for (Currency quote : Currency.values()) {
+                boolean valid = CurrencyPair.isValidCombination(base, quote);
+                if (valid) {
+                    new CurrencyPair(base, quote);
+                } else {
+                    assertThrows(CurrencyPair.FiatCryptoCombinationException.class, () -> new CurrencyPair(base, quote));
+                }
+            }
+        }
+        assertFalse(CurrencyPair.isValidCombination(Currency.USD, Currency.BTC));
+        assertTrue(CurrencyPair.isValidCombination(Currency.BTC, Currency.USD));
+    }
+}
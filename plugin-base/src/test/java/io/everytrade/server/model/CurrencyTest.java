@@ -3,8 +3,10 @@ package io.everytrade.server.model;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class CurrencyTest {
 
@@ -21,4 +23,19 @@ class CurrencyTest {
         assertEquals(Currency._1INCH, Currency.fromCode("1INCH"));
         assertEquals("1INCH", Currency._1INCH.code());
     }
+
+    @Test
+    public void testFromCodeIgnoreCase() {
+        assertEquals(Currency.BTC, Currency.fromCodeIgnoreCase("btc"));
+        assertEquals(Currency._1INCH, Currency.fromCodeIgnoreCase("1inch"));
+        assertThrows(IllegalArgumentException.class, () -> Currency.fromCode("btc"));
+        assertThrows(IllegalArgumentException.class, () -> Currency.fromCodeIgnoreCase("FOO"));
+    }
+
+    @Test
+    public void testTryFromCode() {
+        assertEquals(Optional.of(Currency.ETH), Currency.tryFromCode("ETH"));
+        assertEquals(Optional.empty(), Currency.tryFromCode("FOO"));
+        assertEquals(Optional.empty(), Currency.tryFromCode(null));
+    }
 }
@@ -0,0 +1,22 @@
+package io.everytrade.server.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionTypeTest {
+
+    @Test
+    public void testTryFromName() {
+        for (TransactionType type : TransactionType.values()) {
+            assertEquals(Optional.of(type), TransactionType.tryFromName(type.name()));
+            assertEquals(Optional.of(type), TransactionType.tryFromName(type.name().toLowerCase()));
+        }
+        assertEquals(Optional.of(TransactionType.BUY), TransactionType.tryFromName("Buy"));
+        assertEquals(Optional.empty(), TransactionType.tryFromName("TRANSFER"));
+        assertEquals(Optional.empty(), TransactionType.tryFromName(""));
+        assertEquals(Optional.empty(), TransactionType.tryFromName(null));
+    }
+}
@@ -0,0 +1,128 @@
+package io.everytrade.server.plugin.api.parser;
+
+import io.everytrade.server.model.Currency;
+import io.everytrade.server.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarTransactionClustersTest {
+    private static final Instant IMPORTED = Instant.parse("2021-08-01T10:00:00.123456Z");
+
+    @Test
+    void testRoundTrip() {
+        final List<TransactionCluster> clusters = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final BuySellImportedTransactionBean main = new BuySellImportedTransactionBean(
+                "uid-" + i,
+                Instant.parse("2021-07-27T14:43:18Z").plusMillis(i * 1001L),
+                Currency.BTC,
+                Currency.CZK,
+                i % 2 == 0 ? TransactionType.BUY : TransactionType.SELL,
+                new BigDecimal("0.066506").add(BigDecimal.valueOf(i)),
+                i % 3 == 0 ? null : new BigDecimal("210507.3226"),
+                i % 5 == 0 ? "note " + i : null,
+                IMPORTED
+            );
+            final List<ImportedTransactionBean> related = new ArrayList<>();
+            if (i % 4 == 0) {
+                related.add(new FeeRebateImportedTransactionBean(
+                    "uid-" + i + "-fee",
+                    main.getExecuted(),
+                    Currency.BTC,
+                    Currency.CZK,
+                    TransactionType.FEE,
+                    new BigDecimal("1E+3"),
+                    Currency.EUR,
+                    null,
+                    IMPORTED
+                ));
+            }
+            final TransactionCluster cluster = new TransactionCluster(main, related);
+            if (i % 7 == 0) {
+                cluster.setIgnoredFee(1, "Fee currency not supported");
+            }
+            clusters.add(cluster);
+        }
+        clusters.add(new TransactionCluster(
+            new DepositWithdrawalImportedTransaction(
+                "deposit",
+                Instant.parse("2021-07-28T00:00:00.123456789Z"),
+                Currency.ETH,
+                null,
+                TransactionType.DEPOSIT,
+                new BigDecimal("123456789012345678901234567890.123456789"),
+                null,
+                "0xabc",
+                Instant.parse("2021-08-02T00:00:00Z")
+            ),
+            List.of()
+        ));
+
+        final ColumnarTransactionClusters columnar = new ColumnarTransactionClusters();
+        columnar.addAll(clusters);
+
+        assertEquals(clusters.size(), columnar.size());
+        assertEquals(126, columnar.transactionCount());
+        for (int i = 0; i < clusters.size(); i++) {
+            assertClusterEquals(clusters.get(i), columnar.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> columnar.get(clusters.size()));
+    }
+
+    @Test
+    void testOtherBeanTypesAreKept() {
+        final ImportedTransactionBean bean = new ImportedTransactionBean(
+            "other", Instant.EPOCH, Currency.BTC, Currency.USD, TransactionType.BUY, null
+        ) {
+        };
+        final ColumnarTransactionClusters columnar = new ColumnarTransactionClusters();
+        columnar.add(new TransactionCluster(bean, List.of()));
+
+        assertSame(bean, columnar.get(0).getMain());
+    }
+
+    private static void assertClusterEquals(TransactionCluster expected, TransactionCluster actual) {
+        assertBeanEquals(expected.getMain(), actual.getMain());
+        assertEquals(expected.getRelated().size(), actual.getRelated().size());
+        for (int i = 0; i < expected.getRelated().size(); i++) {
+            assertBeanEquals(expected.getRelated().get(i), actual.getRelated().get(i));
+        }
+        assertEquals(expected.getIgnoredFeeTransactionCount(), actual.getIgnoredFeeTransactionCount());
+        assertEquals(expected.getIgnoredFeeReason(), actual.getIgnoredFeeReason());
+    }
+
+    private static void assertBeanEquals(ImportedTransactionBean expected, ImportedTransactionBean actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.getUid(), actual.getUid());
+        assertEquals(expected.getExecuted(), actual.getExecuted());
+        assertEquals(expected.getBase(), actual.getBase());
+        assertEquals(expected.getQuote(), actual.getQuote());
+        assertEquals(expected.getAction(), actual.getAction());
+        assertEquals(expected.getImported(), actual.getImported());
+        assertEquals(expected.getNote(), actual.getNote());
+        if (expected instanceof BuySellImportedTransactionBean) {
+            final var expectedBuySell = (BuySellImportedTransactionBean) expected;
+            final var actualBuySell = (BuySellImportedTransactionBean) actual;
+            assertEquals(expectedBuySell.getBaseQuantity(), actualBuySell.getBaseQuantity());
+            assertEquals(expectedBuySell.getUnitPrice(), actualBuySell.getUnitPrice());
+        } else if (expected instanceof FeeRebateImportedTransactionBean) {
+            final var expectedFee = (FeeRebateImportedTransactionBean) expected;
+            final var actualFee = (FeeRebateImportedTransactionBean) actual;
+            assertEquals(expectedFee.getFeeRebate(), actualFee.getFeeRebate());
+            assertEquals(expectedFee.getFeeRebateCurrency(), actualFee.getFeeRebateCurrency());
+        } else {
+            final var expectedDeposit = (DepositWithdrawalImportedTransaction) expected;
+            final var actualDeposit = (DepositWithdrawalImportedTransaction) actual;
+            assertEquals(expectedDeposit.getVolume(), actualDeposit.getVolume());
+            assertEquals(expectedDeposit.getAddress(), actualDeposit.getAddress());
+        }
+    }
+}
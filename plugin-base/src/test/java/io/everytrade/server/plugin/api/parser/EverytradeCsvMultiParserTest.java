@@ -2,8 +2,16 @@ package io.everytrade.server.plugin.api.parser;
 
 import io.everytrade.server.model.SupportedExchange;
 import io.everytrade.server.plugin.impl.everytrade.parser.EverytradeCsvMultiParser;
+import io.everytrade.server.plugin.impl.everytrade.parser.exception.UnknownHeaderException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -31,6 +39,8 @@ import static io.everytrade.server.model.SupportedExchange.POLONIEX;
 import static io.everytrade.server.model.SupportedExchange.SHAKEPAY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class EverytradeCsvMultiParserTest {
@@ -328,6 +338,232 @@ class EverytradeCsvMultiParserTest {
         );
     }
 
+    @Test
+    void testStreamingParse() throws IOException {
+        final String header = "UID;DATE;SYMBOL;ACTION;QUANTY;PRICE;FEE;FEE_CURRENCY;REBATE;REBATE_CURRENCY;ADDRESS_FROM;ADDRESS_TO";
+        final File file = File.createTempFile("parsertest", "csv");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), header + "\n"
+            + "1;27.7.2021 14:43:18;BTC/CZK;BUY;0.066506;210507.3226;;;;;;\n"
+            + "2;27.7.2021 14:43:18;BTC/CZK;FOO;0.066506;210507.3226;;;;;;\n"
+            + "3;27.7.2021 14:43:18;BTC/CZK;SELL;0.066506;210507.3226;0.1;CZK;;;;\n"
+        );
+        final EverytradeCsvMultiParser parser = new EverytradeCsvMultiParser();
+        final List<TransactionCluster> transactionClusters = new ArrayList<>();
+        final List<ParsingProblem> parsingProblems = new ArrayList<>();
+
+        parser.parse(file, header, transactionClusters::add, parsingProblems::add);
+        final ParseResult parseResult = parser.parse(file, header);
+
+        assertEquals(2, transactionClusters.size());
+        assertEquals(1, parsingProblems.size());
+        assertEquals(parseResult.getTransactionClusters().size(), transactionClusters.size());
+        assertEquals(parseResult.getParsingProblems(), parsingProblems);
+        assertEquals("1", transactionClusters.get(0).getMain().getUid());
+        assertEquals(1, transactionClusters.get(1).getRelated().size());
+    }
+
+    @Test
+    void testColumnarParseResult() throws IOException {
+        final String header = "UID;DATE;SYMBOL;ACTION;QUANTY;PRICE;FEE;FEE_CURRENCY;REBATE;REBATE_CURRENCY;ADDRESS_FROM;ADDRESS_TO";
+        final File file = File.createTempFile("parsertest", "csv");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), header + "\n"
+            + "1;27.7.2021 14:43:18;BTC/CZK;BUY;0.066506;210507.3226;;;;;;\n"
+            + "2;27.7.2021 14:43:18;BTC/CZK;FOO;0.066506;210507.3226;;;;;;\n"
+            + "3;27.7.2021 14:43:18;BTC/CZK;SELL;0.066506;210507.3226;0.1;CZK;;;;\n"
+        );
+
+        final ParseResult expected = new EverytradeCsvMultiParser().parse(file, header);
+        final ParseResult parseResult = new EverytradeCsvMultiParser(0).parse(file, header);
+
+        assertTrue(expected.getTransactionClusters() instanceof ArrayList);
+        assertTrue(parseResult.getTransactionClusters() instanceof ColumnarTransactionClusters);
+        assertEquals(expected.getParsingProblems(), parseResult.getParsingProblems());
+        assertEquals(expected.getTransactionClusters().toString(), parseResult.getTransactionClusters().toString());
+
+        // read-only, every get builds a new cluster
+        final List<TransactionCluster> columnar = parseResult.getTransactionClusters();
+        assertNotSame(columnar.get(0), columnar.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> columnar.set(0, expected.getTransactionClusters().get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> columnar.remove(0));
+    }
+
+    @Test
+    void testDeduplicatedParse() throws IOException {
+        final String header = "UID;DATE;SYMBOL;ACTION;QUANTY;PRICE;FEE;FEE_CURRENCY;REBATE;REBATE_CURRENCY;ADDRESS_FROM;ADDRESS_TO";
+        final File file = File.createTempFile("parsertest", "csv");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), header + "\n"
+            + "1;27.7.2021 14:43:18;BTC/CZK;BUY;0.066506;210507.3226;;;;;;\n"
+            + "2;27.7.2021 14:43:18;BTC/CZK;SELL;0.066506;210507.3226;;;;;;\n"
+            + "1;27.7.2021 14:43:19;BTC/CZK;SELL;0.066506;210507.3226;;;;;;\n"
+        );
+        final EverytradeCsvMultiParser parser = new EverytradeCsvMultiParser();
+        final UidDeduplicator uidDeduplicator = new UidDeduplicator();
+        final List<TransactionCluster> transactionClusters = new ArrayList<>();
+        final List<ParsingProblem> parsingProblems = new ArrayList<>();
+
+        parser.parse(file, header, transactionClusters::add, parsingProblems::add, uidDeduplicator);
+
+        assertEquals(2, transactionClusters.size());
+        assertEquals(1, parsingProblems.size());
+        assertEquals(ParsingProblemType.PARSED_ROW_IGNORED, parsingProblems.get(0).getParsingProblemType());
+        assertTrue(parsingProblems.get(0).getRow().contains("14:43:19"));
+
+        parser.parse(file, header, transactionClusters::add, parsingProblems::add, uidDeduplicator);
+
+        assertEquals(2, transactionClusters.size());
+        assertEquals(4, parsingProblems.size());
+    }
+
+    @Test
+    void testPartialFillsOfOneOrderAreNotDeduplicated() throws IOException {
+        final String header = "\"transactTime\",\"symbol\",\"execType\",\"side\",\"lastQty\",\"lastPx\","
+            + "\"execCost\",\"commission\",\"execComm\",\"ordType\",\"orderQty\",\"leavesQty\",\"price\","
+            + "\"text\",\"orderID\"";
+        final File file = File.createTempFile("parsertest", "csv");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), header + "\n"
+            + "\"1/24/2020, 5:48:15 PM\",\"XBTUSD\",\"Trade\",\"Sell\",\"100\",\"8470.5\",\"1180600\","
+            + "\"0.00075\",\"885\",\"Limit\",\"170\",\"70\",\"8400\",\"Submission from www.bitmex.com\",\"2da-01\"\n"
+            + "\"1/24/2020, 5:48:16 PM\",\"XBTUSD\",\"Trade\",\"Sell\",\"70\",\"8470.5\",\"826420\","
+            + "\"0.00075\",\"620\",\"Limit\",\"170\",\"0\",\"8400\",\"Submission from www.bitmex.com\",\"2da-01\"\n"
+        );
+        final List<TransactionCluster> transactionClusters = new ArrayList<>();
+        final List<ParsingProblem> parsingProblems = new ArrayList<>();
+
+        new EverytradeCsvMultiParser()
+            .parse(file, header, transactionClusters::add, parsingProblems::add, new UidDeduplicator());
+
+        assertEquals(List.of(), parsingProblems);
+        assertEquals(2, transactionClusters.size());
+        assertEquals("2da-01", transactionClusters.get(0).getMain().getUid());
+        assertEquals("2da-01", transactionClusters.get(1).getMain().getUid());
+    }
+
+    @Test
+    void testParseListener() throws IOException {
+        final String header = "UID;DATE;SYMBOL;ACTION;QUANTY;PRICE;FEE;FEE_CURRENCY;REBATE;REBATE_CURRENCY;ADDRESS_FROM;ADDRESS_TO";
+        final File file = File.createTempFile("parsertest", "csv");
+        file.deleteOnExit();
+        final StringBuilder content = new StringBuilder(header).append('\n');
+        for (int i = 0; i < 2000; i++) {
+            content.append(i).append(";27.7.2021 14:43:18;BTC/CZK;").append(i % 10 == 0 ? "FOO" : "BUY")
+                .append(";0.066506;210507.3226;;;;;;\n");
+        }
+        Files.writeString(file.toPath(), content);
+        final EverytradeCsvMultiParser parser = new EverytradeCsvMultiParser();
+
+        final List<ParseProgress> progress = new ArrayList<>();
+        final ParseResult parseResult = parser.parse(file, header, new TestListener(progress, Long.MAX_VALUE));
+
+        final ParseResult expected = parser.parse(file, header);
+        assertEquals(expected.getParsingProblems(), parseResult.getParsingProblems());
+        assertEquals(expected.getTransactionClusters().size(), parseResult.getTransactionClusters().size());
+        assertTrue(progress.size() > 1);
+        assertEquals(new ParseProgress(file.length(), 2000, 1800, 200, true, false), progress.get(progress.size() - 1));
+
+        progress.clear();
+        final ParseResult cancelled = parser.parse(file, header, new TestListener(progress, 500));
+
+        final ParseProgress last = progress.get(progress.size() - 1);
+        assertTrue(last.isDone());
+        assertTrue(last.isCancelled());
+        assertTrue(last.getRowCount() < 2000);
+        assertEquals(last.getTransactionClusterCount(), cancelled.getTransactionClusters().size());
+        assertEquals(last.getParsingProblemCount(), cancelled.getParsingProblems().size());
+    }
+
+    @Test
+    void testParseListenerWithParserReadingWholeFile() throws IOException {
+        final String header = "#,PAIR,AMOUNT,PRICE,FEE,FEE CURRENCY,DATE,ORDER ID";
+        final File file = File.createTempFile("parsertest", "csv");
+        file.deleteOnExit();
+        final StringBuilder content = new StringBuilder(header).append('\n');
+        for (int i = 0; i < 600; i++) {
+            content.append(i).append(",BTC/USD,0.01048537,9212.82428,-0.00002097,BTC,04-02-20 16:52:06,1\n");
+        }
+        Files.writeString(file.toPath(), content);
+        final EverytradeCsvMultiParser parser = new EverytradeCsvMultiParser();
+
+        final List<ParseProgress> progress = new ArrayList<>();
+        final ParseResult parseResult = parser.parse(file, header, new TestListener(progress, Long.MAX_VALUE));
+
+        assertEquals(600, parseResult.getTransactionClusters().size());
+        assertTrue(progress.stream().allMatch(p -> p.getBytesConsumed() == file.length()));
+        assertEquals(new ParseProgress(file.length(), 600, 600, 0, true, false), progress.get(progress.size() - 1));
+
+        progress.clear();
+        final ParseResult cancelled = parser.parse(file, header, new TestListener(progress, 300));
+
+        assertTrue(cancelled.getTransactionClusters().size() < 600);
+        assertTrue(progress.get(progress.size() - 1).isCancelled());
+
+        progress.clear();
+        final ParseResult cancelledBeforeStart = parser.parse(file, header, new ParseListener() {
+            @Override
+            public void progress(ParseProgress parseProgress) {
+                progress.add(parseProgress);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return true;
+            }
+        });
+
+        assertEquals(0, cancelledBeforeStart.getTransactionClusters().size());
+        assertEquals(List.of(new ParseProgress(0, 0, 0, 0, true, true)), progress);
+    }
+
+    @Test
+    void testParseDetectedStream() {
+        final String content = "\uFEFFYou can use this transaction report to inform your likely tax obligations.\r\n"
+            + "Transactions for user@example.com\r\n"
+            + "Timestamp,Transaction Type,Asset,Quantity Transacted,EUR Spot Price at Transaction,EUR Subtotal,"
+            + "EUR Total (inclusive of fees),EUR Fees,Notes\r\n"
+            + "2020-09-27T18:36:58Z,Buy,BTC,0.03182812,9287.38,295.60,300.00,4.40,Bought 0.03182812 BTC for € 300.00 EUR\r\n"
+            + "2020-03-09T05:17:11Z,Sell,BTC,0.03517833,6831.48,240.32,236.74,3.58,Sold 0.03517833 BTC for € 236.74 EUR\r\n";
+
+        final ParseResult parseResult = new EverytradeCsvMultiParser()
+            .parse(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of(), parseResult.getParsingProblems());
+        assertEquals(2, parseResult.getTransactionClusters().size());
+        assertThrows(
+            UnknownHeaderException.class,
+            () -> new EverytradeCsvMultiParser().parse(new ByteArrayInputStream("a,b\n1,2\n".getBytes()))
+        );
+    }
+
+    // cancels after the first progress reaching the row count
+    private static final class TestListener implements ParseListener {
+        private final List<ParseProgress> progress;
+        private final long cancelRowCount;
+        private volatile boolean cancelled;
+
+        private TestListener(List<ParseProgress> progress, long cancelRowCount) {
+            this.progress = progress;
+            this.cancelRowCount = cancelRowCount;
+        }
+
+        @Override
+        public void progress(ParseProgress parseProgress) {
+            progress.add(parseProgress);
+            cancelled = parseProgress.getRowCount() >= cancelRowCount;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public Duration getProgressInterval() {
+            return Duration.ZERO;
+        }
+    }
 
     private void doTest(Collection<String> headers, SupportedExchange expected) {
         headers.forEach(h -> {
@@ -0,0 +1,79 @@
+package io.everytrade.server.plugin.api.parser;
+
+import io.everytrade.server.model.Currency;
+import io.everytrade.server.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ImportSessionTest {
+    private static final Instant EXECUTED = Instant.parse("2021-07-27T14:43:18Z");
+
+    @Test
+    void testBeansShareSessionInstant() {
+        final Instant imported = Instant.parse("2021-08-01T10:00:00Z");
+        try (ImportSession session = ImportSession.open(imported)) {
+            assertSame(imported, session.getImported());
+            assertSame(imported, buySell().getImported());
+            assertSame(imported, feeRebate().getImported());
+            assertSame(imported, depositWithdrawal().getImported());
+        }
+        assertNotNull(buySell().getImported());
+    }
+
+    @Test
+    void testNestedSessionSharesOuterInstant() {
+        try (ImportSession outer = ImportSession.open()) {
+            try (ImportSession inner = ImportSession.open()) {
+                assertSame(outer.getImported(), inner.getImported());
+            }
+            final Instant other = Instant.parse("2021-08-02T10:00:00Z");
+            try (ImportSession ignored = ImportSession.open(other)) {
+                assertSame(other, ImportSession.currentImported());
+            }
+            assertSame(outer.getImported(), ImportSession.currentImported());
+        }
+    }
+
+    @Test
+    void testExplicitImportedInstant() {
+        final Instant imported = Instant.parse("2021-08-03T10:00:00Z");
+        try (ImportSession ignored = ImportSession.open()) {
+            final BuySellImportedTransactionBean bean = new BuySellImportedTransactionBean(
+                "1",
+                EXECUTED,
+                Currency.BTC,
+                Currency.CZK,
+                TransactionType.BUY,
+                BigDecimal.ONE,
+                BigDecimal.TEN,
+                null,
+                imported
+            );
+            assertEquals(imported, bean.getImported());
+        }
+    }
+
+    private static BuySellImportedTransactionBean buySell() {
+        return new BuySellImportedTransactionBean(
+            "1", EXECUTED, Currency.BTC, Currency.CZK, TransactionType.BUY, BigDecimal.ONE, BigDecimal.TEN
+        );
+    }
+
+    private static FeeRebateImportedTransactionBean feeRebate() {
+        return new FeeRebateImportedTransactionBean(
+            "1-fee", EXECUTED, Currency.BTC, Currency.CZK, TransactionType.FEE, BigDecimal.ONE, Currency.CZK
+        );
+    }
+
+    private static DepositWithdrawalImportedTransaction depositWithdrawal() {
+        return new DepositWithdrawalImportedTransaction(
+            "2", EXECUTED, Currency.BTC, Currency.CZK, TransactionType.DEPOSIT, BigDecimal.ONE, "address"
+        );
+    }
+}
@@ -0,0 +1,131 @@
+package io.everytrade.server.plugin.api.parser;
+
+import io.everytrade.server.model.SupportedExchange;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static io.everytrade.server.model.SupportedExchange.BINANCE;
+import static io.everytrade.server.model.SupportedExchange.KRAKEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UidDeduplicatorTest {
+
+    @Test
+    void testDuplicatesPerExchange() {
+        assertDuplicatesPerExchange(new UidDeduplicator());
+        assertDuplicatesPerExchange(new UidDeduplicator(10));
+        assertDuplicatesPerExchange(new UidDeduplicator(10, 0.01, new SetStore()));
+    }
+
+    private void assertDuplicatesPerExchange(UidDeduplicator uidDeduplicator) {
+        assertTrue(uidDeduplicator.add(KRAKEN, "T1"));
+        assertTrue(uidDeduplicator.add(KRAKEN, "T2"));
+        assertTrue(uidDeduplicator.add(BINANCE, "T1"));
+        assertTrue(uidDeduplicator.add(null, "T1"));
+        assertTrue(uidDeduplicator.add(KRAKEN, null));
+        assertTrue(uidDeduplicator.add(KRAKEN, null));
+
+        assertFalse(uidDeduplicator.add(KRAKEN, "T1"));
+        assertFalse(uidDeduplicator.add(BINANCE, "T1"));
+        assertFalse(uidDeduplicator.add(null, "T1"));
+    }
+
+    @Test
+    void testOverfilledFilterIsConfirmedByStore() {
+        final UidDeduplicator uidDeduplicator = new UidDeduplicator(100, 0.01, new SetStore());
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(uidDeduplicator.add(KRAKEN, "T" + i));
+        }
+        for (int i = 0; i < 100_000; i += 1000) {
+            assertFalse(uidDeduplicator.add(KRAKEN, "T" + i));
+        }
+    }
+
+    @Test
+    void testCompactStore() {
+        final UidDeduplicator.CompactUidStore store = new UidDeduplicator.CompactUidStore();
+        store.add(KRAKEN, "");
+        store.add(KRAKEN, "T1");
+        store.add(KRAKEN, "T1");
+        store.add(null, "T1");
+
+        assertTrue(store.contains(KRAKEN, ""));
+        assertTrue(store.contains(KRAKEN, "T1"));
+        assertTrue(store.contains(null, "T1"));
+        assertFalse(store.contains(BINANCE, "T1"));
+        assertFalse(store.contains(BINANCE, ""));
+        assertFalse(store.contains(KRAKEN, "T"));
+        assertFalse(store.contains(KRAKEN, "T10"));
+
+        for (int i = 0; i < 100_000; i++) {
+            store.add(i % 2 == 0 ? KRAKEN : BINANCE, "U" + i);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(store.contains(i % 2 == 0 ? KRAKEN : BINANCE, "U" + i));
+            assertFalse(store.contains(i % 2 == 0 ? BINANCE : KRAKEN, "U" + i));
+        }
+    }
+
+    @Test
+    void testCompactStoreMemoryPerUid() {
+        final int uidCount = 1_000_000;
+        final int uidLength = 10;
+        final UidDeduplicator.CompactUidStore store = new UidDeduplicator.CompactUidStore();
+        for (int i = 0; i < uidCount; i++) {
+            store.add(KRAKEN, String.format("%010d", i));
+        }
+
+        // the uid characters and the exchange take 22 bytes, the rest is the end offset and the table slot
+        final long bytesPerUid = store.memorySize() / uidCount;
+        assertTrue(bytesPerUid <= Character.BYTES * (uidLength + 1) * 2 + 20, "bytes per uid " + bytesPerUid);
+    }
+
+    @Test
+    void testStoreIsAskedOnFilterHitsOnly() {
+        final Set<String> uids = new HashSet<>();
+        final List<String> lookups = new ArrayList<>();
+        final UidDeduplicator uidDeduplicator = new UidDeduplicator(1000, 0.001, new UidDeduplicator.UidStore() {
+            @Override
+            public boolean contains(SupportedExchange exchange, String uid) {
+                lookups.add(uid);
+                return uids.contains(uid);
+            }
+
+            @Override
+            public void add(SupportedExchange exchange, String uid) {
+                uids.add(uid);
+            }
+        });
+
+        for (int i = 0; i < 1000; i++) {
+            uidDeduplicator.add(KRAKEN, "T" + i);
+        }
+        assertEquals(1000, uids.size());
+        assertTrue(lookups.size() < 20);
+
+        lookups.clear();
+        assertFalse(uidDeduplicator.add(KRAKEN, "T7"));
+        assertEquals(List.of("T7"), lookups);
+    }
+
+    private static class SetStore implements UidDeduplicator.UidStore {
+        private final Set<String> uids = new HashSet<>();
+
+        @Override
+        public boolean contains(SupportedExchange exchange, String uid) {
+            return uids.contains(exchange + ":" + uid);
+        }
+
+        @Override
+        public void add(SupportedExchange exchange, String uid) {
+            uids.add(exchange + ":" + uid);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.everytrade.server.plugin.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvHeaderIndexTest {
+
+    private static final CsvHeaderIndex<String> INDEX = new CsvHeaderIndex<>(List.of(
+        entry(CsvHeader.of("Date", "Pair", "Type", "Fee"), "v2"),
+        entry(CsvHeader.of("Date", "Pair", "Type"), "v1"),
+        entry(CsvHeader.of("^Time\\(UTC[+-]?[0-9]*\\)$", "Market", "Amount").withSeparator(","), "regex"),
+        entry(CsvHeader.of("^Id$", "^Amount$"), "regexOnly"),
+        entry(new CsvHeader(List.of("UID", "DATE", "NOTE"), ";", false), "unordered")
+    ));
+
+    @Test
+    void testFirstMatchInRegistrationOrder() {
+        assertEquals("v2", INDEX.find("Date;Pair;Type;Fee").getValue());
+        assertEquals("v1", INDEX.find("Date;Pair;Type").getValue());
+        assertEquals("v1", INDEX.find("Date;Extra;Pair;Type").getValue());
+    }
+
+    @Test
+    void testDecoratedValues() {
+        assertEquals("v1", INDEX.find("\uFEFF\"DATE\";\"pair\";type").getValue());
+        assertEquals("v1", INDEX.find("\uFEFFdate;pair;type").getValue());
+        assertNull(INDEX.find("\"Date;Pair;Type"));
+    }
+
+    @Test
+    void testRegexAndUnorderedTemplates() {
+        assertEquals("regex", INDEX.find("Time(UTC+1),Market,Amount").getValue());
+        assertEquals("regexOnly", INDEX.find("Id;Amount").getValue());
+        assertEquals("unordered", INDEX.find("NOTE;UID").getValue());
+    }
+
+    @Test
+    void testNoMatch() {
+        assertNull(INDEX.find(null));
+        assertNull(INDEX.find(""));
+        assertNull(INDEX.find("Pair;Type"));
+    }
+}
@@ -0,0 +1,69 @@
+package io.everytrade.server.plugin.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvHeaderTest {
+
+    @Test
+    void testEqualsAndHashCode() {
+        CsvHeader header = CsvHeader.of("Date", "Pair", "Type");
+        assertEquals(header, CsvHeader.of(List.of("Date", "Pair", "Type")));
+        assertEquals(header.hashCode(), CsvHeader.of("Date", "Pair", "Type").hashCode());
+        assertEquals(header, header.withSeparator(";"));
+        assertNotEquals(header, header.withSeparator(","));
+        assertNotEquals(header, new CsvHeader(List.of("Date", "Pair", "Type"), ";", false));
+        assertEquals("v", Map.of(header, "v").get(CsvHeader.of("Date", "Pair", "Type")));
+    }
+
+    @Test
+    void testImmutable() {
+        String[] values = {"Date", "Pair"};
+        CsvHeader header = CsvHeader.of(values);
+        values[0] = "Time";
+        assertTrue(header.matching("Date;Pair"));
+        assertThrows(UnsupportedOperationException.class, () -> header.getHeaderValues().add("Type"));
+    }
+
+    @Test
+    void testMatchingCharSequence() {
+        CsvHeader header = CsvHeader.of("Date", "^Amount( \\(BTC\\))?$", "Fee").withSeparator(",");
+        assertTrue(header.matching(new StringBuilder("date,Amount (BTC),FEE")));
+        assertTrue(header.matching("\uFEFF\"Date\",\"Amount\",\"Fee\",,"));
+        assertFalse(header.matching("Date,Amount (ETH),Fee"));
+        assertFalse(header.matching((CharSequence) null));
+        assertFalse(header.matching(""));
+    }
+
+    @Test
+    void testDecoratedTemplate() {
+        CsvHeader header = CsvHeader.of("\"Date\"", "Pair");
+        assertTrue(header.matching("\"Date\";Pair"));
+        assertTrue(header.matching("\"\"Date\"\";Pair"));
+        assertFalse(header.matching("Date;Pair"));
+    }
+
+    @Test
+    void testTokenizeSameAsSplit() {
+        List<String> lines = List.of("a;b;c", ";a;;b;;", ";;", "a", "a||b|c", "|a|b||");
+        for (String separator : List.of(";", "\\|", "\\|+", "[;|]")) {
+            CsvHeader header = CsvHeader.of(List.of("a"), separator);
+            for (String line : lines) {
+                CsvHeaderTokens tokens = header.tokenize(line);
+                String[] expected = line.split(separator);
+                assertEquals(expected.length, tokens.size(), separator + " " + line);
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i], line.substring(tokens.start(i), tokens.end(i)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import io.everytrade.server.plugin.impl.everytrade.parser.exception.UnknownHeaderException;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchImporterTest {
+    private static final String EVERYTRADE_CSV
+        = "UID;DATE;SYMBOL;ACTION;QUANTY;PRICE;FEE;FEE_CURRENCY;REBATE;REBATE_CURRENCY;ADDRESS_FROM;ADDRESS_TO\n"
+        + "1;27.7.2021 14:43:18;BTC/CZK;BUY;0.066506;210507.3226;;;;;;\n"
+        + "2;27.7.2021 14:43:18;BTC/CZK;FOO;0.066506;210507.3226;;;;;;\n"
+        + "3;27.7.2021 14:43:18;BTC/CZK;SELL;0.066506;210507.3226;0.1;CZK;;;;\n";
+    private static final String COINBASE_CSV
+        = "\uFEFFYou can use this transaction report to inform your likely tax obligations.\r\n"
+        + "Transactions for user@example.com\r\n"
+        + "Timestamp,Transaction Type,Asset,Quantity Transacted,EUR Spot Price at Transaction,EUR Subtotal,"
+        + "EUR Total (inclusive of fees),EUR Fees,Notes\r\n"
+        + "2020-09-27T18:36:58Z,Buy,BTC,0.03182812,9287.38,295.60,300.00,4.40,Bought 0.03182812 BTC for € 300.00 EUR\r\n";
+
+    @Test
+    void testParseAll() throws IOException {
+        final List<File> files = List.of(
+            createFile(EVERYTRADE_CSV),
+            createFile("a,b\n1,2\n"),
+            createFile(COINBASE_CSV),
+            createFile(EVERYTRADE_CSV)
+        );
+        final List<BatchProgress> progress = new ArrayList<>();
+
+        final List<FileParseResult> results = new BatchImporter(new EverytradeCsvMultiParser(), 2, 1)
+            .parseAll(files, progress::add);
+
+        assertEquals(4, results.size());
+        for (int i = 0; i < files.size(); i++) {
+            assertSame(files.get(i), results.get(i).getFile());
+        }
+        assertEquals(2, results.get(0).getParseResult().getTransactionClusters().size());
+        assertEquals(1, results.get(0).getParseResult().getParsingProblems().size());
+        assertNull(results.get(1).getParseResult());
+        assertTrue(results.get(1).getFailure() instanceof UnknownHeaderException);
+        assertEquals(List.of(), results.get(2).getParseResult().getParsingProblems());
+        assertEquals(1, results.get(2).getParseResult().getTransactionClusters().size());
+        assertEquals(
+            results.get(0).getParseResult().getTransactionClusters().size(),
+            results.get(3).getParseResult().getTransactionClusters().size()
+        );
+
+        assertEquals(4, progress.size());
+        final BatchProgress last = progress.get(3);
+        assertEquals(new BatchProgress(4, 4, 1, last.getTotalBytes(), last.getTotalBytes(), 5, 2), last);
+        assertEquals(files.stream().mapToLong(File::length).sum(), last.getTotalBytes());
+    }
+
+    private static File createFile(String content) throws IOException {
+        final File file = File.createTempFile("batchtest", "csv");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
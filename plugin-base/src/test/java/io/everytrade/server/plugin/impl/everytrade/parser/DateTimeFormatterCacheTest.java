@@ -0,0 +1,30 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DateTimeFormatterCacheTest {
+
+    @Test
+    void testFormatterIsCompiledOnce() {
+        final String pattern = "dd.MM.yyyy HH:mm:ss.SSS";
+        final long misses = DateTimeFormatterCache.getMissCount();
+        final long hits = DateTimeFormatterCache.getHitCount();
+
+        assertSame(DateTimeFormatterCache.get(pattern), DateTimeFormatterCache.get(pattern));
+        assertEquals(misses + 1, DateTimeFormatterCache.getMissCount());
+        assertEquals(hits + 1, DateTimeFormatterCache.getHitCount());
+    }
+
+    @Test
+    void testParseUsesUtc() {
+        assertEquals(
+            Instant.parse("2021-07-27T14:43:18Z"),
+            ParserUtils.parse("yyyy-MM-dd HH:mm:ss", "2021-07-27 14:43:18")
+        );
+    }
+}
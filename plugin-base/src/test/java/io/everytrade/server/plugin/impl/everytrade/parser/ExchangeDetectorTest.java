@@ -0,0 +1,117 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import io.everytrade.server.model.SupportedExchange;
+import io.everytrade.server.plugin.csv.CsvHeader;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.DefaultUnivocityExchangeSpecificParser;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.CoinbaseBeanV1;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExchangeDetectorTest {
+    private static final String DISCLAIMER = "You can use this transaction report to inform your likely tax obligations.";
+    private static final String COINBASE_HEADER = "Timestamp,Transaction Type,Asset,Quantity Transacted,Notes";
+    private static final String KRAKEN_HEADER = "txid;pair;time;type;cost;fee;vol";
+    private static final String ROW = "2020-09-27T18:36:58Z,Buy,BTC,0.03182812,Bought € 300.00\n";
+
+    private final ExchangeParseDetail disclaimerDetail = createDetail(
+        CsvHeader.of(DISCLAIMER),
+        SupportedExchange.COINBASE
+    );
+    private final ExchangeParseDetail coinbaseDetail = createDetail(
+        CsvHeader.of("Timestamp", "Transaction Type", "Asset", "Quantity Transacted", "Notes").withSeparator(","),
+        SupportedExchange.COINBASE
+    );
+    private final ExchangeParseDetail krakenDetail = createDetail(
+        CsvHeader.of("txid", "pair", "time", "type", "cost", "fee", "vol"),
+        SupportedExchange.KRAKEN
+    );
+    private final ExchangeDetector detector = new ExchangeDetector(
+        List.of(disclaimerDetail, coinbaseDetail, krakenDetail)
+    );
+
+    @Test
+    void testHeaderOnFirstLine() {
+        final ExchangeDetection detection = detect(KRAKEN_HEADER + "\r\n1;XBTEUR;2021-01-01;buy;1;0;1\r\n").get();
+
+        assertSame(krakenDetail, detection.getExchangeParseDetail());
+        assertEquals(KRAKEN_HEADER, detection.getHeaderLine());
+        assertEquals(StandardCharsets.UTF_8, detection.getCharset());
+        assertEquals(0, detection.getDataOffset());
+    }
+
+    @Test
+    void testHeaderAfterPreamble() {
+        final String preamble = DISCLAIMER + "\r\n\r\nTransactions for användare@example.com\r\n";
+
+        final ExchangeDetection detection = detect(preamble + COINBASE_HEADER + "\r\n" + ROW).get();
+
+        assertSame(coinbaseDetail, detection.getExchangeParseDetail());
+        assertEquals(COINBASE_HEADER, detection.getHeaderLine());
+        assertEquals(preamble.getBytes(StandardCharsets.UTF_8).length, detection.getDataOffset());
+    }
+
+    @Test
+    void testPreambleOnlyMatchesSingleColumnTemplate() {
+        final ExchangeDetection detection = detect(DISCLAIMER + "\nother preamble\n").get();
+
+        assertSame(disclaimerDetail, detection.getExchangeParseDetail());
+        assertEquals(0, detection.getDataOffset());
+    }
+
+    @Test
+    void testByteOrderMarks() {
+        final byte[] utf8 = ("\uFEFF" + COINBASE_HEADER + "\n" + ROW).getBytes(StandardCharsets.UTF_8);
+        final ExchangeDetection utf8Detection = detector.detect(utf8, utf8.length, true).get();
+        assertEquals(StandardCharsets.UTF_8, utf8Detection.getCharset());
+        assertEquals(3, utf8Detection.getDataOffset());
+
+        final byte[] utf16 = ("\uFEFF" + DISCLAIMER + "\n" + COINBASE_HEADER + "\n" + ROW)
+            .getBytes(StandardCharsets.UTF_16LE);
+        final ExchangeDetection utf16Detection = detector.detect(utf16, utf16.length, true).get();
+        assertSame(coinbaseDetail, utf16Detection.getExchangeParseDetail());
+        assertEquals(StandardCharsets.UTF_16LE, utf16Detection.getCharset());
+        assertEquals(2 + 2 * (DISCLAIMER.length() + 1), utf16Detection.getDataOffset());
+    }
+
+    @Test
+    void testLineCutBySampleEndIsSkipped() {
+        final byte[] sample = KRAKEN_HEADER.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(Optional.empty(), detector.detect(sample, sample.length, false));
+        assertTrue(detector.detect(sample, sample.length, true).isPresent());
+    }
+
+    @Test
+    void testStreamIsReset() throws IOException {
+        final byte[] data = (KRAKEN_HEADER + "\n").getBytes(StandardCharsets.UTF_8);
+        final InputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(data));
+
+        assertTrue(detector.detect(inputStream).isPresent());
+        assertEquals(KRAKEN_HEADER + "\n", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(Optional.empty(), detect("unknown,header\n"));
+    }
+
+    private Optional<ExchangeDetection> detect(String data) {
+        final byte[] sample = data.getBytes(StandardCharsets.UTF_8);
+        return detector.detect(sample, sample.length, true);
+    }
+
+    private static ExchangeParseDetail createDetail(CsvHeader header, SupportedExchange supportedExchange) {
+        return ExchangeParseDetail.builder()
+            .headers(List.of(header))
+            .parserFactory(() -> new DefaultUnivocityExchangeSpecificParser(CoinbaseBeanV1.class))
+            .supportedExchange(supportedExchange)
+            .build();
+    }
+}
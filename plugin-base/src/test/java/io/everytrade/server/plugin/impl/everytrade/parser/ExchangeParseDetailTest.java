@@ -0,0 +1,41 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import io.everytrade.server.model.SupportedExchange;
+import io.everytrade.server.plugin.csv.CsvHeader;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.DefaultUnivocityExchangeSpecificParser;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.IExchangeSpecificParser;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.everytrade.EveryTradeBeanV3_1;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ExchangeParseDetailTest {
+    private static final IExchangeSpecificParser PARSER
+        = new DefaultUnivocityExchangeSpecificParser(EveryTradeBeanV3_1.class);
+    private static final IExchangeSpecificParser PARALLEL_PARSER
+        = new DefaultUnivocityExchangeSpecificParser(EveryTradeBeanV3_1.class, ",", null, 4);
+
+    @Test
+    void testParallelParserIsCreatedOnlyWhenEnabled() {
+        final ExchangeParseDetail detail = createDetail()
+            .parallelParserFactory(parallelism -> PARALLEL_PARSER)
+            .build();
+
+        assertSame(PARSER, detail.createParser(1));
+        assertSame(PARALLEL_PARSER, detail.createParser(4));
+    }
+
+    @Test
+    void testParserWithoutParallelFactory() {
+        assertSame(PARSER, createDetail().build().createParser(4));
+    }
+
+    private ExchangeParseDetail.ExchangeParseDetailBuilder createDetail() {
+        return ExchangeParseDetail.builder()
+            .headers(List.of(CsvHeader.of("UID", "DATE")))
+            .parserFactory(() -> PARSER)
+            .supportedExchange(SupportedExchange.EVERYTRADE);
+    }
+}
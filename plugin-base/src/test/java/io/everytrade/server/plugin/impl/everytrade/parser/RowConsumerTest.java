@@ -0,0 +1,63 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import io.everytrade.server.model.SupportedExchange;
+import io.everytrade.server.plugin.api.parser.ParsingProblem;
+import io.everytrade.server.plugin.api.parser.TransactionCluster;
+import io.everytrade.server.plugin.api.parser.UidDeduplicator;
+import io.everytrade.server.plugin.csv.CsvHeader;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.DefaultUnivocityExchangeSpecificParser;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.ExchangeBean;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.everytrade.EveryTradeBeanV3_1;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowConsumerTest {
+    private static final String HEADER
+        = "UID;DATE;SYMBOL;ACTION;QUANTY;PRICE;FEE;FEE_CURRENCY;REBATE;REBATE_CURRENCY;ADDRESS_FROM;ADDRESS_TO";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConvertedBeanReleasesRow() throws IOException {
+        final File file = tempDir.resolve("everytrade.csv").toFile();
+        Files.writeString(file.toPath(), HEADER + "\n"
+            + "1;27.7.2021 14:43:18;BTC/CZK;BUY;0.066506;210507.3226;;;;;;\n"
+            + "1;27.7.2021 14:43:19;BTC/CZK;SELL;0.066506;210507.3226;;;;;;\n"
+        );
+        final List<? extends ExchangeBean> beans
+            = new DefaultUnivocityExchangeSpecificParser(EveryTradeBeanV3_1.class, ";").parse(file);
+        final List<TransactionCluster> transactionClusters = new ArrayList<>();
+        final List<ParsingProblem> problems = new ArrayList<>();
+        final EverytradeCsvMultiParser.RowConsumer rowConsumer = new EverytradeCsvMultiParser.RowConsumer(
+            ExchangeParseDetail.builder()
+                .headers(List.of(CsvHeader.of(HEADER.split(";")).withSeparator(";")))
+                .parserFactory(() -> new DefaultUnivocityExchangeSpecificParser(EveryTradeBeanV3_1.class, ";"))
+                .supportedExchange(SupportedExchange.EVERYTRADE)
+                .build(),
+            transactionClusters::add,
+            problems::add,
+            problems::add,
+            new UidDeduplicator(),
+            null
+        );
+
+        beans.forEach(rowConsumer::acceptBean);
+
+        assertEquals(1, transactionClusters.size());
+        assertEquals("line=2", beans.get(0).rowToString());
+        assertEquals(1, problems.size());
+        assertTrue(problems.get(0).getRow().startsWith("line=3, 1, 27.7.2021 14:43:19, BTC/CZK, SELL"));
+        assertEquals(problems.get(0).getRow(), beans.get(1).rowToString());
+    }
+}
@@ -0,0 +1,56 @@
+package io.everytrade.server.plugin.impl.everytrade.parser;
+
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.DefaultUnivocityExchangeSpecificParser;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.ExchangeBean;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.CoinbaseBeanV1;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SkipLineParserTest {
+    private static final String CONTENT = "You can use this transaction report to inform your likely tax obligations.\n"
+        + "Transactions for user@example.com\n"
+        + "Timestamp,Transaction Type,Asset,Quantity Transacted,EUR Spot Price at Transaction,EUR Subtotal,"
+        + "EUR Total (inclusive of fees),EUR Fees,Notes\n"
+        + "2020-09-27T18:36:58Z,Buy,BTC,0.03182812,9287.38,295.60,300.00,4.40,Bought 0.03182812 BTC for € 300.00 EUR\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSkipLinesWithoutTempFile() throws IOException {
+        final File file = tempDir.resolve("coinbase.csv").toFile();
+        Files.writeString(file.toPath(), CONTENT);
+
+        final List<? extends ExchangeBean> beans = createParser().parse(file);
+
+        assertEquals(1, beans.size());
+        assertArrayEquals(new File[]{file}, tempDir.toFile().listFiles());
+    }
+
+    @Test
+    void testSkipLinesFromReader() {
+        final SkipLineParser parser = createParser();
+
+        final List<? extends ExchangeBean> beans = parser.parse(new StringReader(CONTENT));
+
+        assertEquals(1, beans.size());
+        assertEquals(0, parser.getParsingProblems().size());
+    }
+
+    private SkipLineParser createParser() {
+        return SkipLineParser.builder()
+            .delegate(new DefaultUnivocityExchangeSpecificParser(CoinbaseBeanV1.class))
+            .linesToSkip(2)
+            .build();
+    }
+}
@@ -0,0 +1,80 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
+
+import com.univocity.parsers.common.processor.BeanListProcessor;
+import com.univocity.parsers.csv.CsvParser;
+import com.univocity.parsers.csv.CsvParserSettings;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.BitstampBeanV1;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.HitBtcBeanV1;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.KrakenBeanV1;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.everytrade.EveryTradeBeanV3_1;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BeanCsvParserSettingsTest {
+    private static final List<Class<? extends ExchangeBean>> BEAN_CLASSES = List.of(
+        EveryTradeBeanV3_1.class, KrakenBeanV1.class, BitstampBeanV1.class, HitBtcBeanV1.class
+    );
+
+    @Test
+    void testAnnotationConfigurationEqualsUnivocity() {
+        for (Class<? extends ExchangeBean> beanClass : BEAN_CLASSES) {
+            for (Boolean headerExtraction : new Boolean[]{null, true, false}) {
+                // the cache is filled by the first settings, the second ones are configured from it
+                for (int i = 0; i < 2; i++) {
+                    final BeanListProcessor<? extends ExchangeBean> processor = new BeanListProcessor<>(beanClass);
+                    final CsvParserSettings expected = configure(new CsvParserSettings(), headerExtraction, processor);
+                    final CsvParserSettings actual
+                        = configure(new BeanCsvParserSettings(), headerExtraction, processor);
+
+                    final String message = beanClass.getSimpleName() + ", header extraction " + headerExtraction;
+                    assertEquals(describe(expected), describe(actual), message);
+                    assertEquals(expected.isHeaderExtractionEnabled(), actual.isHeaderExtractionEnabled(), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testParsedBeansEqualUnivocity() {
+        final String csv = "Date,Type,Instrument,Trade ID,Order ID,Side,Quantity,Price,Volume,Fee,Rebate,Total\n"
+            + "2021-01-01 10:00:00,Trade,BTC/USD,1,2,buy,0.1,30000,3000,1.5,0,3001.5\n"
+            + "2021-01-01 11:00:00,Trade,BTC/USD,3,4,sell,0.2,31000,6200,3.1,0,6196.9\n";
+
+        assertEquals(parse(new CsvParserSettings(), csv), parse(new BeanCsvParserSettings(), csv));
+    }
+
+    private CsvParserSettings configure(
+        CsvParserSettings settings,
+        Boolean headerExtraction,
+        BeanListProcessor<? extends ExchangeBean> processor
+    ) {
+        if (headerExtraction != null) {
+            settings.setHeaderExtractionEnabled(headerExtraction);
+        }
+        settings.setProcessor(processor);
+        // univocity applies the annotations when the parser is created
+        new CsvParser(settings);
+        return settings;
+    }
+
+    // without the class name heading the description
+    private String describe(CsvParserSettings settings) {
+        final String description = settings.toString();
+        return description.substring(description.indexOf('\n'));
+    }
+
+    private List<String> parse(CsvParserSettings settings, String csv) {
+        final BeanListProcessor<HitBtcBeanV1> processor = new BeanListProcessor<>(HitBtcBeanV1.class);
+        settings.setHeaderExtractionEnabled(true);
+        settings.setProcessor(processor);
+        new CsvParser(settings).parse(new StringReader(csv));
+        return processor.getBeans().stream()
+            .map(bean -> bean.toTransactionCluster().toString())
+            .collect(Collectors.toList());
+    }
+}
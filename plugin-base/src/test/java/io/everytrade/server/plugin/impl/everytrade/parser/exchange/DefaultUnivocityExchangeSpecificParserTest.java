@@ -0,0 +1,92 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
+
+import io.everytrade.server.plugin.api.parser.ParsingProblem;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.everytrade.EveryTradeBeanV3_1;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DefaultUnivocityExchangeSpecificParserTest {
+    private static final String HEADER
+        = "UID;DATE;SYMBOL;ACTION;QUANTY;PRICE;FEE;FEE_CURRENCY;REBATE;REBATE_CURRENCY;ADDRESS_FROM;ADDRESS_TO";
+    private static final int ROWS = 80_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testParallelParsingKeepsOrderAndRowNumbers() throws IOException {
+        final File file = tempDir.resolve("everytrade.csv").toFile();
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER + "\n");
+            for (int i = 0; i < ROWS; i++) {
+                final String action = i % 1000 == 7 ? "FOO" : (i % 2 == 0 ? "BUY" : "SELL");
+                final String address = i % 100 == 3 ? "\"multi\nline; \"\"quoted\"\" address €\"" : "";
+                writer.write(i + ";27.7.2021 14:43:18;BTC/CZK;" + action + ";0.066506;210507.3226;;;;;" + address + ";\n");
+            }
+        }
+        assertTrue(file.length() > 4 * 1024 * 1024);
+
+        final var sequentialParser = new DefaultUnivocityExchangeSpecificParser(EveryTradeBeanV3_1.class, ";");
+        final var parallelParser = new DefaultUnivocityExchangeSpecificParser(EveryTradeBeanV3_1.class, ";", null, 4);
+        final List<String> sequentialRows = rows(sequentialParser.parse(file));
+        final List<String> parallelRows = rows(parallelParser.parse(file));
+        final List<ParsingProblem> sequentialProblems = sequentialParser.getParsingProblems();
+        final List<ParsingProblem> parallelProblems = parallelParser.getParsingProblems();
+
+        assertEquals(ROWS - ROWS / 1000, sequentialRows.size());
+        assertEquals(sequentialRows, parallelRows);
+        assertEquals(ROWS / 1000, sequentialProblems.size());
+        assertEquals(sequentialProblems, parallelProblems);
+    }
+
+    @Test
+    void testReleaseRowValues() throws IOException {
+        final File file = tempDir.resolve("everytrade.csv").toFile();
+        Files.writeString(file.toPath(), HEADER + "\n1;27.7.2021 14:43:18;BTC/CZK;BUY;0.066506;210507.3226;;;;;;\n");
+
+        final ExchangeBean bean = new DefaultUnivocityExchangeSpecificParser(EveryTradeBeanV3_1.class, ";")
+            .parse(file)
+            .get(0);
+
+        assertEquals(
+            "line=2, 1, 27.7.2021 14:43:18, BTC/CZK, BUY, 0.066506, 210507.3226, null, null, null, null, null, null",
+            bean.rowToString()
+        );
+        bean.releaseRowValues();
+        assertEquals("line=2", bean.rowToString());
+    }
+
+    @Test
+    void testParserParsesFilesWithOtherColumnOrder() throws IOException {
+        final File file = tempDir.resolve("everytrade.csv").toFile();
+        Files.writeString(file.toPath(), HEADER + "\n1;27.7.2021 14:43:18;BTC/CZK;BUY;0.066506;210507.3226;;;;;;\n");
+        final File reorderedFile = tempDir.resolve("everytrade-reordered.csv").toFile();
+        Files.writeString(
+            reorderedFile.toPath(),
+            HEADER.replace("UID;DATE", "DATE;UID") + "\n27.7.2021 14:43:18;1;BTC/CZK;BUY;0.066506;210507.3226;;;;;;\n"
+        );
+        final var parser = new DefaultUnivocityExchangeSpecificParser(EveryTradeBeanV3_1.class, ";");
+
+        final List<String> rows = rows(parser.parse(file));
+        final List<String> reorderedRows = rows(parser.parse(reorderedFile));
+
+        assertEquals(1, rows.size());
+        assertEquals(rows, reorderedRows);
+    }
+
+    private List<String> rows(List<? extends ExchangeBean> beans) {
+        return beans.stream().map(ExchangeBean::rowToString).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,189 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
+
+import com.univocity.parsers.annotations.Parsed;
+import com.univocity.parsers.common.DataProcessingException;
+import com.univocity.parsers.common.DataValidationException;
+import com.univocity.parsers.common.ParsingContext;
+import com.univocity.parsers.common.processor.BeanProcessor;
+import com.univocity.parsers.csv.CsvParser;
+import com.univocity.parsers.csv.CsvParserSettings;
+import io.everytrade.server.plugin.api.parser.TransactionCluster;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.KrakenBeanV1;
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.everytrade.EveryTradeBeanV3_1;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedBeanProcessorTest {
+    private static final String KRAKEN_CSV
+        = "txid,ordertxid,pair,time,type,ordertype,price,cost,fee,vol,margin,misc,ledgers\n"
+        + "T1,OI,XXBTZUSD,2019-07-29 17:04:41,buy,limit,9480.3,18.9606,0.0493,0.002,0,,L1\n"
+        + "T2,OI,XXBTZUSD,2019-07-29 17:05:41,sell,limit,9480.3,18.9606,,0.002,0,,L2\n"
+        + "T3,OI,XXBTZUSD,2019-07-29 17:06:41,foo,limit,9480.3,18.9606,0.0493,0.002,0,,L3\n"
+        + "T4,OI,XXBTZUSD,29.7.2019,buy,limit,9480.3,18.9606,0.0493,0.002,0,,L4\n"
+        + "T5,OI,XXBTZUSD,2019-07-29 17:07:41,buy,limit,9480.3,18.9606\n";
+    private static final String FAILING_CSV = "uid\nA\nB\n";
+
+    @Test
+    void testRowMapperIsGeneratedForSetterBeans() {
+        assertNotNull(MappedBeanProcessor.findRowMapper(KrakenBeanV1.class));
+        assertNull(MappedBeanProcessor.findRowMapper(EveryTradeBeanV3_1.class));
+    }
+
+    @Test
+    void testMappedBeansEqualReflectiveBeans() {
+        final List<String> reflective = new ArrayList<>();
+        parse(new BeanProcessor<>(KrakenBeanV1.class) {
+            @Override
+            public void beanProcessed(KrakenBeanV1 bean, ParsingContext context) {
+                reflective.add(bean.toTransactionCluster().toString());
+            }
+        }, reflective);
+        final List<String> mapped = new ArrayList<>();
+        parse(new MappedBeanProcessor<>(KrakenBeanV1.class) {
+            @Override
+            public void beanProcessed(KrakenBeanV1 bean, ParsingContext context) {
+                mapped.add(bean.toTransactionCluster().toString());
+            }
+        }, mapped);
+
+        assertEquals(5, reflective.size());
+        assertEquals(reflective, mapped);
+    }
+
+    @Test
+    void testFailingSetterIsCalledOnceAndReportedLikeUnivocity() {
+        final List<String> reflective = new ArrayList<>();
+        FailingBean.SETTER_CALLS.set(0);
+        parse(new BeanProcessor<>(FailingBean.class) {
+            @Override
+            public void beanProcessed(FailingBean bean, ParsingContext context) {
+                reflective.add(bean.uid);
+            }
+        }, FAILING_CSV, reflective);
+        final List<String> mapped = new ArrayList<>();
+        parse(new MappedBeanProcessor<>(FailingBean.class) {
+            @Override
+            public void beanProcessed(FailingBean bean, ParsingContext context) {
+                mapped.add(bean.uid);
+            }
+        }, FAILING_CSV, mapped);
+
+        assertNotNull(MappedBeanProcessor.findRowMapper(FailingBean.class));
+        assertEquals(2, reflective.size());
+        assertTrue(reflective.get(0).startsWith("[A] Invalid uid 'A'."), reflective.get(0));
+        assertEquals(reflective, mapped);
+        assertEquals(4, FailingBean.SETTER_CALLS.get());
+    }
+
+    @Test
+    void testMapperFailureIsReportedAsDataProcessingException() {
+        final List<Exception> errors = new ArrayList<>();
+        final CsvParserSettings settings = new BeanCsvParserSettings();
+        settings.setHeaderExtractionEnabled(true);
+        settings.setProcessorErrorHandler((error, inputRow, context) -> errors.add(error));
+        settings.setProcessor(new MappedBeanProcessor<>(MismatchedBean.class) {
+            @Override
+            public void beanProcessed(MismatchedBean bean, ParsingContext context) {
+            }
+        });
+        new CsvParser(settings).parse(new StringReader("uid\nA\n"));
+
+        assertEquals(1, errors.size());
+        final DataProcessingException error = (DataProcessingException) errors.get(0);
+        assertTrue(error.getCause() instanceof ClassCastException);
+        assertTrue(error.getMessage().startsWith(
+            "Unable to set value 'A' of type 'java.lang.String' to method 'setUid' of class "
+                + MismatchedBean.class.getName()
+        ), error.getMessage());
+    }
+
+    private void parse(BeanProcessor<KrakenBeanV1> processor, List<String> results) {
+        parse(processor, KRAKEN_CSV, results);
+    }
+
+    private <T extends ExchangeBean> void parse(BeanProcessor<T> processor, String csv, List<String> results) {
+        final CsvParserSettings settings = new BeanCsvParserSettings();
+        settings.setHeaderExtractionEnabled(true);
+        settings.setProcessorErrorHandler((error, inputRow, context) ->
+            results.add(Arrays.toString(inputRow) + " " + error.getMessage())
+        );
+        settings.setProcessor(processor);
+        new CsvParser(settings).parse(new StringReader(csv));
+    }
+
+    public static class FailingBean extends ExchangeBean {
+        private static final AtomicInteger SETTER_CALLS = new AtomicInteger();
+        private String uid;
+
+        @Parsed(field = "uid")
+        public void setUid(String uid) {
+            SETTER_CALLS.incrementAndGet();
+            if ("A".equals(uid)) {
+                throw new DataValidationException(String.format("Invalid uid '%s'.", uid));
+            }
+            this.uid = uid;
+        }
+
+        @Override
+        public TransactionCluster toTransactionCluster() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static final class FailingBeanRowMapper implements BeanRowMapper<FailingBean> {
+        @Override
+        public FailingBean newBean() {
+            return new FailingBean();
+        }
+
+        @Override
+        public int memberOf(String setterName) {
+            return "setUid".equals(setterName) ? 0 : -1;
+        }
+
+        @Override
+        public void set(FailingBean bean, int member, Object value) {
+            bean.setUid((String) value);
+        }
+    }
+
+    public static class MismatchedBean extends ExchangeBean {
+        @Parsed(field = "uid")
+        public void setUid(String uid) {
+        }
+
+        @Override
+        public TransactionCluster toTransactionCluster() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    // casts to a wrong type, as a mapper generated for another version of the bean would
+    static final class MismatchedBeanRowMapper implements BeanRowMapper<MismatchedBean> {
+        @Override
+        public MismatchedBean newBean() {
+            return new MismatchedBean();
+        }
+
+        @Override
+        public int memberOf(String setterName) {
+            return "setUid".equals(setterName) ? 0 : -1;
+        }
+
+        @Override
+        public void set(MismatchedBean bean, int member, Object value) {
+            bean.setUid(((Instant) value).toString());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange;
+
+import io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean.CoinbaseBeanV1;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedFileReaderTest {
+    private static final String CONTENT = "Timestamp,Asset,Notes\n"
+        + "2020-09-27T18:36:58Z,BTC,Bought 0.03182812 BTC for € 300.00 EUR 🚀\n"
+        + "2020-09-28T10:00:00Z,ETH,Příliš žluťoučký kůň\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadWithoutBom() throws IOException {
+        final File file = write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        assertEquals(CONTENT, read(new MappedFileReader(file)));
+    }
+
+    @Test
+    void testBomSelectsCharset() throws IOException {
+        final byte[] utf8 = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        final byte[] utf16BigEndian = {(byte) 0xFE, (byte) 0xFF};
+        final byte[] utf16LittleEndian = {(byte) 0xFF, (byte) 0xFE};
+        assertEquals(CONTENT, read(new MappedFileReader(write(withBom(utf8, StandardCharsets.UTF_8)))));
+        assertEquals(CONTENT, read(new MappedFileReader(write(withBom(utf16BigEndian, StandardCharsets.UTF_16BE)))));
+        assertEquals(CONTENT, read(new MappedFileReader(write(withBom(utf16LittleEndian, StandardCharsets.UTF_16LE)))));
+    }
+
+    @Test
+    void testDefaultCharset() throws IOException {
+        final String content = "Asset;Note\nBTC;café\n";
+        final File file = write(content.getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(content, read(new MappedFileReader(file, StandardCharsets.ISO_8859_1, 16)));
+    }
+
+    @Test
+    void testSequencesSplitByRegionsAndBuffer() throws IOException {
+        final File file = write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        for (int regionSize = 4; regionSize < 12; regionSize++) {
+            for (int bufferSize = 2; bufferSize < 6; bufferSize++) {
+                assertEquals(
+                    CONTENT,
+                    read(new MappedFileReader(file, StandardCharsets.UTF_8, bufferSize, regionSize)),
+                    "region " + regionSize + ", buffer " + bufferSize
+                );
+            }
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        assertEquals("", read(new MappedFileReader(write(new byte[0]))));
+    }
+
+    @Test
+    void testParseMappedFile() throws IOException {
+        final String content = "\uFEFFTimestamp,Transaction Type,Asset,Quantity Transacted,"
+            + "EUR Spot Price at Transaction,EUR Subtotal,EUR Total (inclusive of fees),EUR Fees,Notes\n"
+            + "2020-09-27T18:36:58Z,Buy,BTC,0.03182812,9287.38,295.60,300.00,4.40,Bought 0.03182812 BTC\n";
+        final File file = write(content.getBytes(StandardCharsets.UTF_8));
+        final DefaultUnivocityExchangeSpecificParser parser
+            = new DefaultUnivocityExchangeSpecificParser(CoinbaseBeanV1.class);
+
+        final List<? extends ExchangeBean> beans;
+        try (Reader reader = new MappedFileReader(file)) {
+            beans = parser.parse(reader);
+        }
+
+        assertEquals(1, beans.size());
+        assertEquals(0, parser.getParsingProblems().size());
+        assertEquals(parser.parse(file).get(0).rowToString(), beans.get(0).rowToString());
+    }
+
+    private File write(byte[] bytes) throws IOException {
+        final File file = Files.createTempFile(tempDir, "mapped", ".csv").toFile();
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+
+    private static byte[] withBom(byte[] bom, Charset charset) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        outputStream.write(bom);
+        outputStream.write(CONTENT.getBytes(charset));
+        return outputStream.toByteArray();
+    }
+
+    private static String read(Reader reader) throws IOException {
+        try (reader) {
+            final StringWriter writer = new StringWriter();
+            reader.transferTo(writer);
+            return writer.toString();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
+
+import com.univocity.parsers.common.DataValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BigDecimalConverterTest {
+
+    @Test
+    void testSameAsBigDecimalOfCleanedValue() {
+        String[] values = {
+            "0", "-0.00", "+1", "1.", ".5", "0.03182812", "-9287.38", "1,234,567.891", "$ 1,000.00", "-$5",
+            "12 345,67", "\t42\n", "999999999999999999", "9999999999999999999", "-123456789012345678.9012345678",
+            "1.5E-7", "2e+3", "1,0E5", "00000000000000000000001", "€300.00", "£ 12.5"
+        };
+        BigDecimalConverter converter = new BigDecimalConverter();
+        for (String value : values) {
+            assertEquals(
+                new BigDecimal(value.replaceAll("[,\\s$€£]", "")),
+                converter.execute(value),
+                value
+            );
+        }
+    }
+
+    @Test
+    void testInvalidValues() {
+        String[] values = {"", " ", "$", "-", ".", "1.2.3", "+-1", "1-", "abc", "12BTC", "1e", "1,0E5.5"};
+        for (String value : values) {
+            assertThrows(DataValidationException.class, () -> BigDecimalConverter.parse(value), value);
+        }
+    }
+
+    @Test
+    void testNull() {
+        assertNull(BigDecimalConverter.parse(null));
+        assertNull(new BigDecimalConverter().revert(null));
+        assertEquals("1234.50", new BigDecimalConverter().revert(new BigDecimal("1234.50")));
+    }
+}
@@ -1,8 +1,21 @@
 package io.everytrade.server.plugin.impl.everytrade.parser.exchange.bean;
 
+import com.univocity.parsers.annotations.Convert;
+import com.univocity.parsers.annotations.Parsed;
+import com.univocity.parsers.common.DataValidationException;
+import com.univocity.parsers.common.processor.BeanListProcessor;
+import com.univocity.parsers.csv.CsvParser;
+import com.univocity.parsers.csv.CsvParserSettings;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DateTimeConverterWithSecondsFractionTest {
 
@@ -18,6 +31,79 @@ class DateTimeConverterWithSecondsFractionTest {
 
     }
 
+    @Test
+    void testMultiplePatterns() {
+        DateTimeConverterWithSecondsFraction converter
+            = new DateTimeConverterWithSecondsFraction("yyyy-MM-dd HH:mm:ss", "M/d/yy h:mm a");
+
+        assertEquals(Instant.parse("2020-01-03T15:20:30Z"), converter.execute("2020-01-03 15:20:30"));
+        assertEquals(Instant.parse("2020-01-03T15:20:00Z"), converter.execute("1/3/20 3:20 PM"));
+        assertEquals(Instant.parse("2020-01-04T15:20:00Z"), converter.execute("1/4/20 3:20 PM"));
+        assertEquals(Instant.parse("2020-01-03T15:20:30.5Z"), converter.execute("2020-01-03 15:20:30.5"));
+        assertThrows(DataValidationException.class, () -> converter.execute("2020-01-03"));
+        assertThrows(DataValidationException.class, () -> converter.execute(null));
+    }
+
+    @Test
+    void testStrictModeRequiresExactlyOneMatch() {
+        DateTimeConverterWithSecondsFraction converter
+            = new DateTimeConverterWithSecondsFraction(true, "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss");
+        DateTimeConverterWithSecondsFraction defaultConverter
+            = new DateTimeConverterWithSecondsFraction("yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss");
+        DateTimeConverterWithSecondsFraction firstMatchConverter = new DateTimeConverterWithSecondsFraction(
+            DateTimeConverterWithSecondsFraction.FIRST_MATCH, "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss"
+        );
+
+        assertThrows(DataValidationException.class, () -> converter.execute("2020-01-03 15:20:30"));
+        assertThrows(DataValidationException.class, () -> defaultConverter.execute("2020-01-03 15:20:30"));
+        assertEquals(Instant.parse("2020-01-03T15:20:30Z"), firstMatchConverter.execute("2020-01-03 15:20:30"));
+    }
+
+    @Test
+    void testModeSelectedByConvertArgs() {
+        final String csv = "strict,firstMatch\n2020-01-03 15:20:30,2020-01-03 15:20:30\n";
+        final List<String> errors = new ArrayList<>();
+        final BeanListProcessor<ConvertedBean> processor = new BeanListProcessor<>(ConvertedBean.class);
+        final CsvParserSettings settings = new CsvParserSettings();
+        settings.setHeaderExtractionEnabled(true);
+        settings.setProcessor(processor);
+        settings.setProcessorErrorHandler((error, inputRow, context) -> errors.add(error.getMessage()));
+
+        new CsvParser(settings).parse(new StringReader(csv));
+
+        assertEquals(List.of(), processor.getBeans());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains("Exactly one datetime pattern has to match"), errors.get(0));
+
+        final String firstMatchCsv = "firstMatch\n2020-01-03 15:20:30\n";
+        final BeanListProcessor<FirstMatchBean> firstMatchProcessor = new BeanListProcessor<>(FirstMatchBean.class);
+        settings.setProcessor(firstMatchProcessor);
+
+        new CsvParser(settings).parse(new StringReader(firstMatchCsv));
+
+        assertEquals(1, firstMatchProcessor.getBeans().size());
+        assertEquals(Instant.parse("2020-01-03T15:20:30Z"), firstMatchProcessor.getBeans().get(0).firstMatch);
+    }
+
+    public static class ConvertedBean {
+        @Parsed(field = "strict")
+        @Convert(conversionClass = DateTimeConverterWithSecondsFraction.class,
+            args = {"yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss"})
+        public Instant strict;
+
+        @Parsed(field = "firstMatch")
+        @Convert(conversionClass = DateTimeConverterWithSecondsFraction.class,
+            args = {DateTimeConverterWithSecondsFraction.FIRST_MATCH, "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss"})
+        public Instant firstMatch;
+    }
+
+    public static class FirstMatchBean {
+        @Parsed(field = "firstMatch")
+        @Convert(conversionClass = DateTimeConverterWithSecondsFraction.class,
+            args = {DateTimeConverterWithSecondsFraction.FIRST_MATCH, "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss"})
+        public Instant firstMatch;
+    }
+
     private void testConversion(String input) {
         DateTimeConverterWithSecondsFraction converter
             = new DateTimeConverterWithSecondsFraction("yyyy-MM-dd, HH:mm:ss");
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import java.time.Instant;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DateTimeFormatFinderTest {
@@ -50,6 +51,15 @@ class DateTimeFormatFinderTest {
         assertTrue(testAllCombinations(dateTimeMock));
     }
 
+    @Test
+    void testPinnedFormatWithFallback() {
+        final DateTimeFormatFinder formatFinder = new DateTimeFormatFinder(2);
+        assertEquals(Instant.parse("2020-05-28T15:21:10Z"), formatFinder.parse("2020-05-28 15:21:10"));
+        assertEquals(Instant.parse("2020-05-29T15:21:10Z"), formatFinder.parse("2020-05-29 15:21:10"));
+        assertEquals(Instant.parse("2020-05-30T15:21:10Z"), formatFinder.parse("2020-05-30 15:21:10"));
+        assertEquals(Instant.parse("2020-05-31T15:21:10Z"), formatFinder.parse("31.5.2020 15:21:10"));
+        assertEquals(Instant.parse("2020-06-01T03:21:10Z"), formatFinder.parse("6/1/20 3:21:10 AM"));
+    }
 
     private boolean testAllCombinations(DateTimeMock dateTimeMock) {
         final DateTimeFormatFinder formatFinder = new DateTimeFormatFinder();
@@ -142,6 +142,27 @@ class KrakenBeanV1Test {
         assertTrue(error.contains("Unable to set value 'XXBCUSD'"));
     }
 
+    @Test
+    void testRepeatedShortCodePair() {
+        final String row = "TTT,OI,XBTEUR,2019-07-29 17:04:41,sell,limit,9480.3,18.9606,0,0.002,0,,\"LX,JX\"\n";
+        for (int i = 0; i < 2; i++) {
+            final TransactionCluster actual = ParserTestUtils.getTransactionCluster(HEADER_CORRECT + row);
+            final TransactionCluster expected = new TransactionCluster(
+                new BuySellImportedTransactionBean(
+                    "TTT",
+                    Instant.parse("2019-07-29T17:04:41Z"),
+                    Currency.BTC,
+                    Currency.EUR,
+                    TransactionType.SELL,
+                    new BigDecimal("0.002"),
+                    new BigDecimal("9480.3")
+                ),
+                List.of()
+            );
+            ParserTestUtils.checkEqual(expected, actual);
+        }
+    }
+
     @Test
     void testCorrectParsingRawTransaction24hTimeFormat() {
         final String row = "TTT,OI,XXBTZUSD,2019-07-29 12:04:41.1451,buy," +
@@ -0,0 +1,216 @@
+package io.everytrade.server.plugin.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Bean>RowMapper} next to every exchange bean bound by univocity {@code @Parsed} setters. The
+ * mapper creates the bean and calls its setters directly, univocity still converts the values and decides which
+ * setter gets which value. Beans with annotated fields, {@code @Nested} members, setters of primitive or boxed number
+ * types (univocity coerces those) or setters not accessible from the bean package get no mapper and are bound by
+ * univocity reflection as before.
+ */
+@SupportedAnnotationTypes(BeanRowMapperProcessor.PARSED)
+public class BeanRowMapperProcessor extends AbstractProcessor {
+    static final String PARSED = "com.univocity.parsers.annotations.Parsed";
+    private static final String NESTED = "com.univocity.parsers.annotations.Nested";
+    private static final String EXCHANGE_BEAN = "io.everytrade.server.plugin.impl.everytrade.parser.exchange.ExchangeBean";
+    private static final String ROW_MAPPER = "io.everytrade.server.plugin.impl.everytrade.parser.exchange.BeanRowMapper";
+    private static final String MAPPER_SUFFIX = "RowMapper";
+    private static final Set<String> COERCED_TYPES = Set.of(
+        "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double"
+    );
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+        for (TypeElement bean : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            final String name = bean.getQualifiedName().toString();
+            if (!isMappable(bean) || generated.contains(name)) {
+                continue;
+            }
+            final Map<String, ExecutableElement> setters = findSetters(bean);
+            if (setters == null || setters.isEmpty()) {
+                continue;
+            }
+            try {
+                write(bean, setters);
+                generated.add(name);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    String.format("Failed to generate row mapper of %s: %s", name, e.getMessage()),
+                    bean
+                );
+            }
+        }
+        return false;
+    }
+
+    private boolean isMappable(TypeElement bean) {
+        if (bean.getKind() != ElementKind.CLASS
+            || bean.getNestingKind() != NestingKind.TOP_LEVEL
+            || bean.getModifiers().contains(Modifier.ABSTRACT)
+            || !bean.getTypeParameters().isEmpty()
+            || !isExchangeBean(bean)
+        ) {
+            return false;
+        }
+        return ElementFilter.constructorsIn(bean.getEnclosedElements()).stream()
+            .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+    }
+
+    private boolean isExchangeBean(TypeElement type) {
+        for (TypeElement t = superclass(type); t != null; t = superclass(t)) {
+            if (t.getQualifiedName().contentEquals(EXCHANGE_BEAN)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // annotated setters by name from the bean up its superclasses, null if the bean cannot be mapped
+    private Map<String, ExecutableElement> findSetters(TypeElement bean) {
+        final PackageElement beanPackage = processingEnv.getElementUtils().getPackageOf(bean);
+        final Map<String, ExecutableElement> setters = new LinkedHashMap<>();
+        for (TypeElement type = bean; type != null; type = superclass(type)) {
+            final Set<String> declared = new HashSet<>();
+            for (Element member : type.getEnclosedElements()) {
+                if (hasAnnotation(member, NESTED)) {
+                    return null;
+                }
+                if (!hasAnnotation(member, PARSED)) {
+                    continue;
+                }
+                if (member.getKind() != ElementKind.METHOD) {
+                    return null;
+                }
+                final ExecutableElement setter = (ExecutableElement) member;
+                final String name = setter.getSimpleName().toString();
+                if (!declared.add(name) || !isMappable(setter, type, beanPackage)) {
+                    return null;
+                }
+                // an overridden setter is called virtually, the override is mapped already
+                setters.putIfAbsent(name, setter);
+            }
+        }
+        return setters;
+    }
+
+    private boolean isMappable(ExecutableElement setter, TypeElement declaringType, PackageElement beanPackage) {
+        final Set<Modifier> modifiers = setter.getModifiers();
+        if (modifiers.contains(Modifier.STATIC)
+            || modifiers.contains(Modifier.PRIVATE)
+            || setter.getParameters().size() != 1
+            || !setter.getTypeParameters().isEmpty()
+        ) {
+            return false;
+        }
+        if (!modifiers.contains(Modifier.PUBLIC)
+            && !processingEnv.getElementUtils().getPackageOf(declaringType).equals(beanPackage)
+        ) {
+            return false;
+        }
+        final TypeMirror type = setter.getParameters().get(0).asType();
+        if (type.getKind() == TypeKind.ARRAY) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        final TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+        return !COERCED_TYPES.contains(typeElement.getQualifiedName().toString())
+            && (typeElement.getModifiers().contains(Modifier.PUBLIC)
+            || processingEnv.getElementUtils().getPackageOf(typeElement).equals(beanPackage));
+    }
+
+    private void write(TypeElement bean, Map<String, ExecutableElement> setters) throws IOException {
+        final String packageName = processingEnv.getElementUtils().getPackageOf(bean).getQualifiedName().toString();
+        final String beanName = bean.getSimpleName().toString();
+        final String mapperName = beanName + MAPPER_SUFFIX;
+        final String qualifiedName = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+        final List<String> names = new ArrayList<>(setters.keySet());
+        try (
+            Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, bean).openWriter();
+            PrintWriter out = new PrintWriter(writer)
+        ) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n%n", packageName);
+            }
+            out.printf("@javax.annotation.processing.Generated(\"%s\")%n", getClass().getName());
+            out.printf("public final class %s implements %s<%s> {%n", mapperName, ROW_MAPPER, beanName);
+            out.printf("%n    @Override%n    public %s newBean() {%n        return new %s();%n    }%n", beanName, beanName);
+
+            out.printf("%n    @Override%n    public int memberOf(String setterName) {%n");
+            out.printf("        switch (setterName) {%n");
+            for (int i = 0; i < names.size(); i++) {
+                out.printf("            case \"%s\":%n                return %d;%n", names.get(i), i);
+            }
+            out.printf("            default:%n                return -1;%n        }%n    }%n");
+
+            out.printf("%n    @Override%n    public void set(%s bean, int member, Object value) {%n", beanName);
+            out.printf("        switch (member) {%n");
+            for (int i = 0; i < names.size(); i++) {
+                final TypeMirror type = processingEnv.getTypeUtils()
+                    .erasure(setters.get(names.get(i)).getParameters().get(0).asType());
+                out.printf(
+                    "            case %d:%n                bean.%s((%s) value);%n                return;%n",
+                    i, names.get(i), type
+                );
+            }
+            out.printf("            default:%n");
+            out.printf("                throw new IllegalArgumentException(\"Unknown member \" + member + \".\");%n");
+            out.printf("        }%n    }%n}%n");
+        }
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED
+            ? (TypeElement) ((DeclaredType) superclass).asElement()
+            : null;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final Element type = annotation.getAnnotationType().asElement();
+            if (((TypeElement) type).getQualifiedName().contentEquals(annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}